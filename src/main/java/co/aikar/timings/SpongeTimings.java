@@ -48,8 +48,14 @@ public final class SpongeTimings {
 
     public static final Timing playerCommandTimer = SpongeTimingsFactory.ofSafe("playerCommand");
 
+    public static final Timing eventListenerRebakeTimer = SpongeTimingsFactory.ofSafe("Event Listener Rebake");
+
     public static final Timing entityActivationCheckTimer = SpongeTimingsFactory.ofSafe("entityActivationCheck");
+    public static final Timing entityActivationGridTimer = SpongeTimingsFactory.ofSafe("entityActivationCheck - grid");
+    public static final Timing entityActivationParallelTimer = SpongeTimingsFactory.ofSafe("entityActivationCheck - parallel");
     public static final Timing checkIfActiveTimer = SpongeTimingsFactory.ofSafe("checkIfActive");
+    public static final Timing tileEntityActivationCheckTimer = SpongeTimingsFactory.ofSafe("tileEntityActivationCheck");
+    public static final Timing tileEntityActivationIndexTimer = SpongeTimingsFactory.ofSafe("tileEntityActivationCheck - index");
 
     public static final Timing antiXrayUpdateTimer = SpongeTimingsFactory.ofSafe("anti-xray - update");
     public static final Timing antiXrayObfuscateTimer = SpongeTimingsFactory.ofSafe("anti-xray - obfuscate");
@@ -48,7 +48,9 @@
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.event.SpongeEventManager;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -61,6 +63,7 @@
 import java.net.URL;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 
 class TimingsExport extends Thread {
@@ -167,6 +170,33 @@ static void reportTimings(CommandSource sender) {
                     return JSONUtil.singleObjectPair(((SpongeEntityType) entityType).entityTypeId, entityType.getId());
                 })));
 
+        // Hit rates of the immutable data caches
+
+        builder.add("immutabledatacache", JSONUtil.objectBuilder()
+                .add("manipulators", JSONUtil.arrayOf(ImmutableDataCachingUtil.getManipulatorHits(), ImmutableDataCachingUtil.getManipulatorMisses()))
+                .add("values", JSONUtil.arrayOf(ImmutableDataCachingUtil.getValueHits(), ImmutableDataCachingUtil.getValueMisses())));
+
+        // Event listener cache bakes
+
+        SpongeEventManager eventManager = (SpongeEventManager) SpongeImpl.getGame().getEventManager();
+        builder.add("eventlisteners", JSONUtil.objectBuilder()
+                .add("bakes", eventManager.getBakeCount())
+                .add("rebakes", eventManager.getRebakeCount())
+                .add("rebaketime", TimeUnit.NANOSECONDS.toMillis(eventManager.getRebakeTime())));
+
+        // Load of the async task executor, per plugin
+
+        builder.add("asynctasks", JSONUtil.mapArrayToObject(SpongeImpl.getScheduler().getAsyncTaskExecutor().getPluginQueues(), (queue) -> {
+            return JSONUtil.singleObjectPair(queue.getPlugin().getId(), JSONUtil.objectBuilder()
+                    .add("queued", queue.getQueueDepth())
+                    .add("running", queue.getRunning())
+                    .add("executed", queue.getExecuted())
+                    .add("rejected", queue.getRejected())
+                    .add("waittime", TimeUnit.NANOSECONDS.toMillis(queue.getWaitTime()))
+                    .add("runtime", TimeUnit.NANOSECONDS.toMillis(queue.getRunTime()))
+                    .build());
+        }));
+
         // Information about loaded plugins
 
         builder.add("plugins", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getPluginManager().getPlugins(), (plugin) -> {
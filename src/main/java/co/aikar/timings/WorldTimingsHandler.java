@@ -26,6 +26,9 @@
 
 import net.minecraft.world.World;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Set of timers per world, to track world specific Timings.
  */
@@ -75,6 +78,17 @@ public class WorldTimingsHandler {
     // Chunk population
     public final Timing chunkPopulate;
 
+    // Explosions
+    public final Timing explosionBatch;
+
+    // Async lighting, these are updated off of the main thread
+    public final AtomicInteger lightingQueueDepth = new AtomicInteger();
+    public final LongAdder lightingDedupHits = new LongAdder();
+
+    // Mob spawning, as of the last spawn pass
+    public int mobSpawnChunkCandidates;
+    public int mobSpawnChunksSkipped;
+
     public WorldTimingsHandler(World world) {
         String name = world.getWorldInfo().getWorldName() + " - ";
 
@@ -119,5 +133,7 @@ public WorldTimingsHandler(World world) {
         this.causeTrackerEntityItemTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityItemCaptures");
 
         this.chunkPopulate = SpongeTimingsFactory.ofSafe(name + "chunkPopulate");
+
+        this.explosionBatch = SpongeTimingsFactory.ofSafe(name + "explosionBatch");
     }
 }
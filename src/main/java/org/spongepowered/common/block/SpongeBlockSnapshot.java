@@ -118,21 +118,47 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         this.pos = checkNotNull(builder.coords);
         this.blockPos = VecHelper.toBlockPos(this.pos);
 
-        // This avoids cross contamination of block state based values versus tile entity values.
+        // The tile entity values are kept apart from the block state based values to avoid
+        // cross contamination, they are only collected when first requested.
         // TODO - delegate this to NbtProcessors when schematics are merged.
-        final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
         this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
-            for (ImmutableValue<?> value : manipulator.getValues()) {
-                tileBuilder.put(value.getKey(), value);
-            }
-        }
-        this.keyValueMap = tileBuilder.build();
-        this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
         this.compound = builder.compound == null ? null : builder.compound.copy();
         this.changeFlag = BlockChangeFlag.ALL;
     }
 
+    /**
+     * Creates the snapshot of a block captured by cause tracking right before
+     * it changes. Unlike the builder, this takes ownership of the given
+     * compound instead of copying it, and leaves all key and value lookups to
+     * be built if and when they are first requested.
+     *
+     * @param blockState The captured state
+     * @param extendedState The captured extended state
+     * @param worldUniqueId The world the block is in
+     * @param pos The position of the block
+     * @param creatorUniqueId The creator of the block, if any
+     * @param notifierUniqueId The notifier of the block, if any
+     * @param extraData The tile entity data, already immutable
+     * @param compound The tile entity nbt, which must no longer be modified
+     * @param flag The change flag
+     * @param updateFlag The minecraft update flag
+     */
+    public SpongeBlockSnapshot(BlockState blockState, BlockState extendedState, UUID worldUniqueId, BlockPos pos,
+            @Nullable UUID creatorUniqueId, @Nullable UUID notifierUniqueId, List<ImmutableDataManipulator<?, ?>> extraData,
+            @Nullable NBTTagCompound compound, BlockChangeFlag flag, int updateFlag) {
+        this.blockState = checkNotNull(blockState, "The block state was null!");
+        this.extendedState = extendedState;
+        this.worldUniqueId = checkNotNull(worldUniqueId);
+        this.creatorUniqueId = creatorUniqueId;
+        this.notifierUniqueId = notifierUniqueId;
+        this.blockPos = pos.toImmutable();
+        this.pos = VecHelper.toVector3i(this.blockPos);
+        this.extraData = extraData.isEmpty() ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(extraData);
+        this.compound = compound;
+        this.changeFlag = flag;
+        this.updateFlag = updateFlag;
+    }
+
     @Override
     public BlockState getState() {
         return this.blockState;
@@ -370,7 +396,7 @@ public BlockSnapshot merge(BlockSnapshot that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((E) this.keyValueMap.get(key).get());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((E) this.blockKeyValueMap.get(key).get());
@@ -426,7 +452,7 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((V) this.keyValueMap.get(key).asMutable());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((V) this.blockKeyValueMap.get(key).asMutable());
@@ -437,7 +463,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     @Override
     public boolean supports(Key<?> key) {
         checkNotNull(key, "Key");
-        return this.keyValueMap.containsKey(key) || getKeyValueMap().containsKey(key);
+        return getTileMap().containsKey(key) || getKeyValueMap().containsKey(key);
     }
 
     @Override
@@ -29,6 +29,7 @@
 import static org.spongepowered.api.command.args.GenericArguments.dimension;
 import static org.spongepowered.api.command.args.GenericArguments.firstParsing;
 import static org.spongepowered.api.command.args.GenericArguments.flags;
+import static org.spongepowered.api.command.args.GenericArguments.integer;
 import static org.spongepowered.api.command.args.GenericArguments.literal;
 import static org.spongepowered.api.command.args.GenericArguments.optional;
 import static org.spongepowered.api.command.args.GenericArguments.optionalWeak;
@@ -39,6 +40,7 @@
 
 import co.aikar.timings.SpongeTimingsFactory;
 import co.aikar.timings.Timings;
+import co.aikar.timings.WorldTimingsHandler;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import net.minecraft.block.state.IBlockState;
@@ -87,6 +89,8 @@
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
+import org.spongepowered.common.event.tracking.PhaseProfiler;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
@@ -97,6 +101,7 @@
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.DecimalFormat;
@@ -169,6 +174,8 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongePluginsCommand(), "plugins");
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
+        nonFlagChildren.register(createSpongePhasesCommand(), "phases");
+        nonFlagChildren.register(createSpongeProfilerCommand(), "profiler");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeConfigCommand(), "config");
         flagChildren.register(createSpongeReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -190,6 +197,8 @@ INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation\n",
                         INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                         INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
+                        INDENT, title("phases"), LONG_INDENT, "Prints phase context pool statistics\n",
+                        INDENT, title("profiler"), LONG_INDENT, "Profiles phases and writes collapsed stacks for flamegraphs\n",
                         SpongeImplHooks.getAdditionalCommandDescriptions()))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
@@ -315,13 +324,18 @@ protected Text value(Object text) {
                     }
 
                     protected Text getChunksInfo(WorldServer worldserver) {
+                        final WorldTimingsHandler timings = ((IMixinWorldServer) worldserver).getTimingsHandler();
                         return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(WorldManager.getDimensionId(worldserver)), NEWLINE_TEXT,
                                 key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                                 key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                key("Queued light updates: "), value(timings.lightingQueueDepth.get()), NEWLINE_TEXT,
+                                key("Deduplicated light updates: "), value(timings.lightingDedupHits.sum()), NEWLINE_TEXT,
+                                key("Mob spawn candidate chunks: "), value(timings.mobSpawnChunkCandidates), NEWLINE_TEXT,
+                                key("Mob spawn skipped chunks: "), value(timings.mobSpawnChunksSkipped), NEWLINE_TEXT
                         );
                     }
                 })
@@ -714,6 +728,63 @@ private static CommandSpec createSpongeWhichCommand() {
                 .build();
     }
 
+    private static CommandSpec createSpongePhasesCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Prints how many phase contexts were allocated and reused by each pool"))
+                .permission("sponge.command.phases")
+                .executor((src, args) -> {
+                    for (PhaseContextPool<?> pool : PhaseContextPool.getPools()) {
+                        src.sendMessage(Text.of(TextColors.GOLD, pool.getName(), TextColors.RESET, ": ",
+                                TextColors.GRAY, "Allocations: ", TextColors.RED, pool.getAllocations(),
+                                TextColors.GRAY, ", Pool hits: ", TextColors.GREEN, pool.getHits(),
+                                TextColors.GRAY, ", Pooled: ", TextColors.RESET, pool.getPooledCount()));
+                    }
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static CommandCallable createSpongeProfilerCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.profiler")
+                .description(Text.of("Profiles the time spent in each phase and writes it out for flamegraph tools."))
+                .child(CommandSpec.builder()
+                        .arguments(optional(integer(Text.of("interval"))))
+                        .executor((src, args) -> {
+                            final int interval = args.<Integer>getOne("interval").orElse(1);
+                            if (interval <= 0) {
+                                src.sendMessage(Text.of(TextColors.RED, "The interval must be at least 1 tick"));
+                                return CommandResult.empty();
+                            }
+                            PhaseProfiler.start(interval);
+                            src.sendMessage(Text.of("Started the phase profiler, sampling one in every ", interval, " ticks"));
+                            return CommandResult.success();
+                        })
+                        .build(), "start")
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            if (!PhaseProfiler.isEnabled()) {
+                                src.sendMessage(Text.of("Please start the profiler by typing /sponge profiler start"));
+                                return CommandResult.empty();
+                            }
+                            final long sampledTicks = PhaseProfiler.getSampledTicks();
+                            final int stacks = PhaseProfiler.getStackCount();
+                            try {
+                                for (File file : PhaseProfiler.stop(new File(new File("."), "dumps"))) {
+                                    src.sendMessage(Text.of("Wrote profile to: ", file));
+                                }
+                            } catch (IOException e) {
+                                SpongeImpl.getLogger().error("Could not write the phase profile", e);
+                                src.sendMessage(Text.of(TextColors.RED, "Could not write the phase profile: ", e.getMessage()));
+                                return CommandResult.empty();
+                            }
+                            src.sendMessage(Text.of("Profiled ", sampledTicks, " ticks across ", stacks, " stacks"));
+                            return CommandResult.success();
+                        })
+                        .build(), "stop")
+                .build();
+    }
+
     private static CommandSpec createSpongeTpsCommand() {
         return CommandSpec.builder()
                 .permission("sponge.command.tps")
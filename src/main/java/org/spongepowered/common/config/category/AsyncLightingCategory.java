@@ -36,6 +36,20 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "num-threads", comment = "The amount of threads to dedicate for async lighting updates. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "batch-size", comment = "The maximum amount of light updates sent to a lighting thread as a single batch.\n"
+            + "Light updates are collected per region of 4x4 chunks during a tick and sent as a batch at the end\n"
+            + "of the tick, or as soon as a region has collected this many updates. (Default: 512)")
+    private int batchSize = 512;
+
+    @Setting(value = "max-in-flight-regions", comment = "The maximum amount of regions being lit at the same time. Regions that are\n"
+            + "not next to each other are lit in parallel. (Default: 8)")
+    private int maxInFlightRegions = 8;
+
+    @Setting(value = "max-queued-updates", comment = "The maximum amount of light updates waiting for a lighting thread. When exceeded,\n"
+            + "the server thread runs queued updates itself at the end of the tick until the backlog is back under\n"
+            + "this limit. (Default: 65536)")
+    private int maxQueuedUpdates = 65536;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +57,16 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public int getMaxInFlightRegions() {
+        return this.maxInFlightRegions;
+    }
+
+    public int getMaxQueuedUpdates() {
+        return this.maxQueuedUpdates;
+    }
 }
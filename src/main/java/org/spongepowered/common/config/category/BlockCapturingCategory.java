@@ -36,6 +36,13 @@ public class BlockCapturingCategory extends ConfigCategory {
     @Setting(value = "auto-populate", comment = "If enabled, newly discovered blocks will be added to this config with a default value.")
     private boolean autoPopulate = false;
 
+    @Setting(value = "skip-without-listeners", comment = "If enabled, block ticks and block events write their block changes directly to the world\n"
+            + "instead of capturing them while no plugin listens to ChangeBlockEvent or any of its super types.\n"
+            + "Capturing resumes as soon as such a listener is registered.\n"
+            + "Note: Block changes written directly do not record the owner or notifier of the changed blocks,\n"
+            + "which protection plugins may rely on.")
+    private boolean skipWithoutListeners = false;
+
     @Setting(value = "mods", comment = "Per-mod block id mappings for controlling capturing behavior")
     private Map<String, BlockCapturingModCategory> modMapping = new HashMap<>();
 
@@ -51,4 +58,8 @@ public boolean autoPopulateData() {
         return this.autoPopulate;
     }
 
+    public boolean skipWithoutListeners() {
+        return this.skipWithoutListeners;
+    }
+
 }
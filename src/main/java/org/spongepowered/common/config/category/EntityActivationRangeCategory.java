@@ -39,6 +39,16 @@ public class EntityActivationRangeCategory extends ConfigCategory {
     private Map<String, Integer> defaultRanges = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, EntityActivationModCategory> modList = new HashMap<>();
+    @Setting(value = "spatial-index", comment = "If enabled, players are indexed per chunk and each entity near a player is checked once per tick\n"
+            + "against the players around its chunk, instead of once per nearby player. Recommended when many players\n"
+            + "gather in the same area. Compare the 'entityActivationCheck' and 'entityActivationCheck - grid' timings.")
+    private boolean spatialIndex = false;
+    @Setting(value = "parallel-classification", comment = "If enabled, the activation of all worlds is computed in parallel at the start of each tick,\n"
+            + "split by world and by stripes of chunks, using the spatial index. Only read from the global config.")
+    private boolean parallelClassification = false;
+    @Setting(value = "parallel-threads", comment = "The amount of threads used by parallel-classification. 0 uses one thread per core.\n"
+            + "Only read from the global config and requires a restart.")
+    private int parallelThreads = 0;
 
     public EntityActivationRangeCategory() {
         this.defaultRanges.put("ambient", 32);
@@ -59,4 +69,16 @@ public Map<String, Integer> getDefaultRanges() {
     public Map<String, EntityActivationModCategory> getModList() {
         return this.modList;
     }
+
+    public boolean useSpatialIndex() {
+        return this.spatialIndex;
+    }
+
+    public boolean useParallelClassification() {
+        return this.parallelClassification;
+    }
+
+    public int getParallelThreads() {
+        return this.parallelThreads;
+    }
 }
\ No newline at end of file
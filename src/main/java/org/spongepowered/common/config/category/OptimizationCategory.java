@@ -61,6 +61,11 @@ public class OptimizationCategory extends ConfigCategory {
             + "Note: This optimization has a few issues which is explained in the bug report. We are not responsible for any issues this may cause.")
     private boolean pandaRedstone = false;
 
+    @Setting(value = "lazy-listener-causes", comment = "If enabled, the plugin owning an event listener is only pushed onto the cause stack once\n"
+            + "the listener accesses the cause stack, rather than before every listener is called.\n"
+            + "Listeners which never look at the cause then no longer force it to be rebuilt.")
+    private boolean lazyListenerCauses = true;
+
     public OptimizationCategory() {  
         try {  
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.  
@@ -99,4 +104,8 @@ public boolean useAsyncLighting() {
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
+
+    public boolean useLazyListenerCauses() {
+        return this.lazyListenerCauses;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-pool-size", comment = "The number of threads used to run asynchronous tasks.\n"
+                                                  + "If 0, twice the number of available processors is used, with a minimum of 4.\n"
+                                                  + "Requires a restart.")
+    private int asyncPoolSize = 0;
+
+    @Setting(value = "plugin-concurrency-limit", comment = "The maximum number of asynchronous tasks a single plugin may run at the same time.\n"
+                                                           + "Further tasks of that plugin wait in its queue until one of its tasks finishes.\n"
+                                                           + "If 0, a plugin may use half of the pool, so that one plugin can't starve the others.")
+    private int pluginConcurrencyLimit = 0;
+
+    @Setting(value = "plugin-queue-limit", comment = "The maximum number of asynchronous tasks a single plugin may have waiting in its queue.\n"
+                                                     + "Executions over this limit are rejected and logged. If 0, the queue is unbounded.")
+    private int pluginQueueLimit = 0;
+
+    @Setting(value = "plugin-concurrency-overrides", comment = "Per plugin overrides of 'plugin-concurrency-limit', by plugin id.")
+    private Map<String, Integer> pluginConcurrencyOverrides = new HashMap<>();
+
+    public int getAsyncPoolSize() {
+        return this.asyncPoolSize;
+    }
+
+    public int getPluginConcurrencyLimit() {
+        return this.pluginConcurrencyLimit;
+    }
+
+    public int getPluginQueueLimit() {
+        return this.pluginQueueLimit;
+    }
+
+    public Map<String, Integer> getPluginConcurrencyOverrides() {
+        return this.pluginConcurrencyOverrides;
+    }
+
+}
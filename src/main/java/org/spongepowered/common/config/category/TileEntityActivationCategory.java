@@ -41,6 +41,11 @@ public class TileEntityActivationCategory extends ConfigCategory {
     private int defaultTickRate = 1;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, TileEntityActivationModCategory> modList = new HashMap<>();
+    @Setting(value = "spatial-index", comment = "If enabled, the chunk sections in activation range of any player are computed once per tick\n"
+            + "and each tileentity of a watched chunk is checked once, instead of once per player watching its chunk.\n"
+            + "Recommended for dense bases visited by many players. Compare the 'tileEntityActivationCheck' and\n"
+            + "'tileEntityActivationCheck - index' timings.")
+    private boolean spatialIndex = false;
 
     public TileEntityActivationCategory() {
     }
@@ -60,4 +65,8 @@ public int getDefaultTickRate() {
     public Map<String, TileEntityActivationModCategory> getModList() {
         return this.modList;
     }
+
+    public boolean useSpatialIndex() {
+        return this.spatialIndex;
+    }
 }
\ No newline at end of file
@@ -51,6 +51,11 @@ public class TimingsCategory extends ConfigCategory {
     @Setting("history-length")
     private int historyLength = 3600;
 
+    @Setting(value = "data-processor-timings", comment = "If enabled, each data processor attempt on the main thread is timed individually.\n"
+                                                         + "This is expensive compared to cheap 'supports' checks, so only enable it\n"
+                                                         + "when investigating slow data processors. Requires a restart.")
+    private boolean dataProcessorTimings = false;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -83,4 +88,8 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
-}
\ No newline at end of file
+    public boolean isDataProcessorTimingsEnabled() {
+        return this.dataProcessorTimings;
+    }
+
+}
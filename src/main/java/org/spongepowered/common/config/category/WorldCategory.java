@@ -103,6 +103,13 @@ public class WorldCategory extends ConfigCategory {
 
     @Setting(value = "weather-ice-and-snow", comment = "Enable to allow the natural formation of ice and snow in supported biomes.")
     private boolean weatherIceAndSnow = true;
+
+    @Setting(value = "explosion-batching", comment = "If enabled, primed TNT explosions in the same tick are deferred to the end of the entity tick"
+                                                     + "\nand spatially overlapping explosions are evaluated together, sharing a single entity query"
+                                                     + "\nand destroying each block only once. Events are still posted for every explosion."
+                                                     + "\nNote: As this is an experimental setting for performance gain, if you encounter any issues"
+                                                     + "\nthen we recommend disabling it.")
+    private boolean explosionBatching = false;
     
     public WorldCategory() {
         this.portalAgents.put("minecraft:default_nether", "DIM-1");
@@ -216,4 +223,8 @@ public boolean getWeatherThunder() {
     public boolean getWeatherIceAndSnow() {
         return this.weatherIceAndSnow;
     }
-}
\ No newline at end of file
+
+    public boolean useExplosionBatching() {
+        return this.explosionBatching;
+    }
+}
@@ -28,17 +28,27 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.text.Text;
 import org.spongepowered.common.SpongeImpl;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +58,25 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final Cache<ManipulatorKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<ValueKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
         .build();
 
+    // Reused per thread to look up existing entries without allocating a key
+    private static final ThreadLocal<ManipulatorKey> manipulatorProbe = ThreadLocal.withInitial(ManipulatorKey::new);
+    private static final ThreadLocal<ValueKey> valueProbe = ThreadLocal.withInitial(ValueKey::new);
+
+    private static final LongAdder manipulatorHits = new LongAdder();
+    private static final LongAdder manipulatorMisses = new LongAdder();
+    private static final LongAdder valueHits = new LongAdder();
+    private static final LongAdder valueMisses = new LongAdder();
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -66,7 +85,9 @@ private ImmutableDataCachingUtil() {}
      *
      * <p>Note that two instances of an {@link ImmutableDataManipulator} may be
      * equal to each other, but they may not be the same instance, this is due
-     * to caching and outside instantiation.</p>
+     * to caching and outside instantiation. Manipulators built from an
+     * argument that could still change after the call, see
+     * {@link #isCacheable(Object)}, are never cached.</p>
      *
      * @param immutableClass The immutable manipulator class to get an instance of
      * @param args The arguments to pass to the constructor
@@ -75,55 +96,251 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
+        for (Object arg : args) {
+            if (!isCacheable(arg)) {
+                return (T) createManipulator(immutableClass, args);
+            }
+        }
+        final ManipulatorKey probe = manipulatorProbe.get().set(immutableClass, args);
+        final ImmutableDataManipulator<?, ?> cached = ImmutableDataCachingUtil.manipulatorCache.getIfPresent(probe);
+        probe.clear();
+        if (cached != null) {
+            manipulatorHits.increment();
+            return (T) cached;
+        }
+        manipulatorMisses.increment();
+        final Object[] keyArgs = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            keyArgs[i] = freeze(args[i]);
+        }
+        final ManipulatorKey key = new ManipulatorKey().set(immutableClass, keyArgs);
         // We can't really use the generic typing here because it's complicated...
         try {
             // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
+            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key,
+                    (Callable<ImmutableDataManipulator<?, ?>>) () -> createManipulator(immutableClass, args));
         } catch (Throwable e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         }
     }
 
+    private static ImmutableDataManipulator<?, ?> createManipulator(final Class<? extends ImmutableDataManipulator<?, ?>> immutableClass,
+            final Object[] args) {
+        try {
+            return createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+        }
+        throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                + Arrays.toString(args));
+    }
+
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        if (!isCacheable(arg)) {
+            return (T) createValue(valueClass, usedKey, defaultArg, arg, extraArgs);
+        }
+        final ValueKey probe = valueProbe.get().set(valueClass, usedKey, arg);
+        final ImmutableValue<?> cached = ImmutableDataCachingUtil.valueCache.getIfPresent(probe);
+        probe.clear();
+        if (cached != null) {
+            valueHits.increment();
+            return (T) cached;
+        }
+        valueMisses.increment();
+        final ValueKey key = new ValueKey().set(valueClass, usedKey, freeze(arg));
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
+            return (T) ImmutableDataCachingUtil.valueCache.get(key,
+                    (Callable<ImmutableValue<?>>) () -> createValue(valueClass, usedKey, defaultArg, arg, extraArgs));
         } catch (ExecutionException e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    private static ImmutableValue<?> createValue(final Class<? extends ImmutableValue<?>> valueClass, final Key<?> usedKey,
+            final Object defaultArg, final Object arg, @Nullable final Object[] extraArgs) {
+        try {
+            if (extraArgs == null || extraArgs.length == 0) {
+                return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+            }
+            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
+        }
+        throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
+    }
+
+    public static long getManipulatorHits() {
+        return manipulatorHits.sum();
+    }
+
+    public static long getManipulatorMisses() {
+        return manipulatorMisses.sum();
+    }
+
+    public static long getValueHits() {
+        return valueHits.sum();
+    }
+
+    public static long getValueMisses() {
+        return valueMisses.sum();
+    }
+
+    /**
+     * Gets whether the given argument can be part of a cache key. Keys
+     * outlive the call that created them, so only arguments that can not
+     * change afterwards are accepted: catalog types, enums, strings, texts,
+     * unique ids, boxed primitives and sets or lists made up of those, which
+     * are copied by {@link #freeze(Object)}.
+     */
+    static boolean isCacheable(@Nullable Object arg) {
+        if (arg == null || arg instanceof CatalogType || arg instanceof Enum || arg instanceof String || arg instanceof Text
+            || arg instanceof UUID || arg instanceof Boolean || arg instanceof Character) {
+            return true;
+        }
+        if (arg instanceof Integer || arg instanceof Long || arg instanceof Double || arg instanceof Float
+            || arg instanceof Short || arg instanceof Byte) {
+            return true;
+        }
+        if (arg instanceof Set || arg instanceof List) {
+            for (Object element : (Collection<?>) arg) {
+                // Null elements are not supported by the immutable copies
+                if (element == null || element instanceof Collection || !isCacheable(element)) {
+                    return false;
+                }
             }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copies a cacheable argument that the caller could still modify into
+     * an immutable one to store in a key.
+     */
+    @Nullable
+    static Object freeze(@Nullable Object arg) {
+        if (arg instanceof Set) {
+            return ImmutableSet.copyOf((Set<?>) arg);
+        }
+        if (arg instanceof List) {
+            return ImmutableList.copyOf((List<?>) arg);
+        }
+        return arg;
+    }
+
+    /**
+     * Catalog types are registered singletons, so they are compared by
+     * identity. Sets and lists are compared by their contents, whatever
+     * their implementation. Everything else must be of the same class and
+     * equal, which keeps e.g. {@code 1} and {@code 1L} apart.
+     */
+    static boolean argEquals(@Nullable Object first, @Nullable Object second) {
+        if (first == second) {
+            return true;
+        }
+        if (first instanceof Set || first instanceof List) {
+            return (first instanceof Set ? second instanceof Set : second instanceof List) && first.equals(second);
+        }
+        if (first == null || second == null || first instanceof CatalogType || first.getClass() != second.getClass()) {
+            return false;
+        }
+        return first.equals(second);
+    }
+
+    static int argHash(@Nullable Object object) {
+        if (object == null) {
+            return 0;
+        }
+        return object instanceof CatalogType ? System.identityHashCode(object) : object.hashCode();
+    }
+
+    private static final class ManipulatorKey {
+
+        @Nullable private Class<?> type;
+        @Nullable private Object[] args;
+        private int hash;
+
+        ManipulatorKey set(Class<?> type, Object[] args) {
+            this.type = type;
+            this.args = args;
+            int hash = type.hashCode();
+            for (Object arg : args) {
+                hash = 31 * hash + argHash(arg);
+            }
+            this.hash = hash;
+            return this;
+        }
+
+        void clear() {
+            this.type = null;
+            this.args = null;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ManipulatorKey)) {
+                return false;
+            }
+            final ManipulatorKey other = (ManipulatorKey) obj;
+            if (this.hash != other.hash || this.type != other.type || this.args.length != other.args.length) {
+                return false;
+            }
+            for (int i = 0; i < this.args.length; i++) {
+                if (!argEquals(this.args[i], other.args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class ValueKey {
+
+        @Nullable private Class<?> type;
+        @Nullable private Key<?> key;
+        @Nullable private Object arg;
+        private int hash;
+
+        ValueKey set(Class<?> type, Key<?> key, Object arg) {
+            this.type = type;
+            this.key = key;
+            this.arg = arg;
+            this.hash = 31 * (31 * type.hashCode() + System.identityHashCode(key)) + argHash(arg);
+            return this;
+        }
+
+        void clear() {
+            this.type = null;
+            this.key = null;
+            this.arg = null;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ValueKey)) {
+                return false;
+            }
+            final ValueKey other = (ValueKey) obj;
+            return this.hash == other.hash && this.type == other.type && this.key == other.key && argEquals(this.arg, other.arg);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
         }
-        return builder.toString();
     }
 }
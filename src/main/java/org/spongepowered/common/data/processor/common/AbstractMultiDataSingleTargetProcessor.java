@@ -49,6 +49,10 @@ public AbstractMultiDataSingleTargetProcessor(Class<Holder> holderClass) {
         this.holderClass = checkNotNull(holderClass);
     }
 
+    public Class<Holder> getHolderClass() {
+        return this.holderClass;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean supports(DataHolder dataHolder) {
@@ -53,6 +53,10 @@ protected AbstractSingleDataSingleTargetProcessor(Key<V> key, Class<Holder> hold
         this.holderClass = checkNotNull(holderClass);
     }
 
+    public Class<Holder> getHolderClass() {
+        return this.holderClass;
+    }
+
     protected boolean supports(Holder dataHolder) {
         return true;
     }
@@ -47,6 +47,10 @@ protected AbstractSpongeValueProcessor(Class<C> containerClass, Key<V> key) {
         this.containerClass = containerClass;
     }
 
+    public Class<C> getContainerClass() {
+        return this.containerClass;
+    }
+
     /**
      * Builds a {@link Value} of the type produced by this processor from an
      * input, actual value.
@@ -36,23 +36,62 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
-import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.DataProcessor;
 import org.spongepowered.common.util.ServerUtils;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
 
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
-    private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final ImmutableList<DataProcessor<M, I>> processors;
+    // Only created if per processor timings are enabled in the config
+    @Nullable private final Timing[] timings;
+    private final Class<?>[] requiredHolderClasses;
+    // Indices of the processors that could support each holder class, in priority order
+    private final Map<Class<?>, int[]> candidatesByHolderClass = new ConcurrentHashMap<>();
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
-        ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
-        for (DataProcessor<M, I> processor : processors) {
-            builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
+        this.processors = processors;
+        this.requiredHolderClasses = new Class<?>[processors.size()];
+        for (int i = 0; i < processors.size(); i++) {
+            this.requiredHolderClasses[i] = ProcessorTargets.getRequiredHolderClass(processors.get(i));
+        }
+        if (SpongeImpl.getGlobalConfig().getConfig().getTimings().isDataProcessorTimingsEnabled()) {
+            this.timings = new Timing[processors.size()];
+            for (int i = 0; i < processors.size(); i++) {
+                this.timings[i] = SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processors.get(i).getClass().getCanonicalName());
+            }
+        } else {
+            this.timings = null;
         }
-        this.processors = builder.build();
+    }
+
+    private int[] getCandidates(DataHolder dataHolder) {
+        final Class<?> holderClass = dataHolder.getClass();
+        final int[] candidates = this.candidatesByHolderClass.get(holderClass);
+        if (candidates != null) {
+            return candidates;
+        }
+        final int[] resolved = new int[this.processors.size()];
+        int count = 0;
+        for (int i = 0; i < resolved.length; i++) {
+            if (ProcessorTargets.isApplicable(this.requiredHolderClasses[i], holderClass)) {
+                resolved[count++] = i;
+            }
+        }
+        final int[] trimmed = new int[count];
+        System.arraycopy(resolved, 0, trimmed, 0, count);
+        final int[] previous = this.candidatesByHolderClass.putIfAbsent(holderClass, trimmed);
+        return previous == null ? trimmed : previous;
+    }
+
+    private boolean isTimed() {
+        return this.timings != null && ServerUtils.isCallingFromMainThread();
     }
 
     @Override
@@ -62,20 +101,18 @@ public int getPriority() {
 
     @Override
     public boolean supports(DataHolder dataHolder) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index : getCandidates(dataHolder)) {
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
-                }
-                return true;
+            final boolean supports = this.processors.get(index).supports(dataHolder);
+            if (timed) {
+                this.timings[index].stopTiming();
             }
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
+            if (supports) {
+                return true;
             }
         }
         return false;
@@ -88,65 +125,65 @@ public boolean supports(EntityType entityType) {
 
     @Override
     public Optional<M> from(DataHolder dataHolder) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index : getCandidates(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().from(dataHolder);
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
+            try {
+                if (processor.supports(dataHolder)) {
+                    final Optional<M> optional = processor.from(dataHolder);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
-                if (optional.isPresent()) {
-                    return optional;
+            } finally {
+                if (timed) {
+                    this.timings[index].stopTiming();
                 }
             }
-
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
-            }
         }
         return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index : getCandidates(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
+            try {
+                if (processor.supports(dataHolder)) {
+                    final Optional<M> optional = processor.fill(dataHolder, manipulator, overlap);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
-                if (optional.isPresent()) {
-                    return optional;
+            } finally {
+                if (timed) {
+                    this.timings[index].stopTiming();
                 }
             }
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
-            }
-
         }
         return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataContainer container, M m) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index = 0; index < this.processors.size(); index++) {
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            final Optional<M> optional = tuple.getFirst().fill(container, m);
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
+            final Optional<M> optional = this.processors.get(index).fill(container, m);
+            if (timed) {
+                this.timings[index].stopTiming();
             }
             if (optional.isPresent()) {
                 return optional;
@@ -157,23 +194,24 @@ public Optional<M> fill(DataContainer container, M m) {
 
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index : getCandidates(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    if (callingFromMinecraftThread) {
-                        tuple.getSecond().stopTiming();
+            try {
+                if (processor.supports(dataHolder)) {
+                    final DataTransactionResult result = processor.set(dataHolder, manipulator, function);
+                    if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                        return result;
                     }
-                    return result;
                 }
-            }
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
+            } finally {
+                if (timed) {
+                    this.timings[index].stopTiming();
+                }
             }
         }
         return DataTransactionResult.failResult(manipulator.asImmutable().getValues());
@@ -181,15 +219,15 @@ public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunc
 
     @Override
     public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutable) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index = 0; index < this.processors.size(); index++) {
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            final Optional<I> optional = tuple.getFirst().with(key, value, immutable);
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
+            final Optional<I> optional = this.processors.get(index).with(key, value, immutable);
+            if (timed) {
+                this.timings[index].stopTiming();
             }
             if (optional.isPresent()) {
                 return optional;
@@ -201,49 +239,50 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
 
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index : getCandidates(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
+            try {
+                if (processor.supports(dataHolder)) {
+                    final DataTransactionResult result = processor.remove(dataHolder);
+                    if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                        return result;
+                    }
                 }
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    return result;
+            } finally {
+                if (timed) {
+                    this.timings[index].stopTiming();
                 }
             }
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
-            }
-
         }
         return DataTransactionResult.failNoData();
     }
 
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
-        final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final boolean timed = isTimed();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().startTiming();
+        for (int index : getCandidates(dataHolder)) {
+            final DataProcessor<M, I> processor = this.processors.get(index);
+            if (timed) {
+                this.timings[index].startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
+            try {
+                if (processor.supports(dataHolder)) {
+                    final Optional<M> optional = processor.createFrom(dataHolder);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
-                if (optional.isPresent()) {
-                    return optional;
+            } finally {
+                if (timed) {
+                    this.timings[index].stopTiming();
                 }
             }
-            if (callingFromMinecraftThread) {
-                tuple.getSecond().stopTiming();
-            }
         }
         return Optional.empty();
     }
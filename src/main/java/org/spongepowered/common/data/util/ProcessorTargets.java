@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.value.ValueContainer;
+import org.spongepowered.common.data.DataProcessor;
+import org.spongepowered.common.data.ValueProcessor;
+import org.spongepowered.common.data.processor.common.AbstractItemDataProcessor;
+import org.spongepowered.common.data.processor.common.AbstractItemSingleDataProcessor;
+import org.spongepowered.common.data.processor.common.AbstractMultiDataSingleTargetProcessor;
+import org.spongepowered.common.data.processor.common.AbstractSingleDataSingleTargetProcessor;
+import org.spongepowered.common.data.processor.common.AbstractSpongeValueProcessor;
+
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * Determines which holder class a processor is restricted to, so the
+ * processor delegates can skip processors that can never support a
+ * given holder class.
+ *
+ * <p>A holder class is only reported when the processor's supports check
+ * is declared by one of the base classes that are known to reject any
+ * holder that isn't an instance of it. Processors that override the check
+ * themselves are always treated as unrestricted.</p>
+ */
+final class ProcessorTargets {
+
+    private static final Set<Class<?>> HOLDER_CHECKING_DATA_PROCESSORS = ImmutableSet.of(
+            AbstractSingleDataSingleTargetProcessor.class,
+            AbstractMultiDataSingleTargetProcessor.class,
+            AbstractItemSingleDataProcessor.class,
+            AbstractItemDataProcessor.class);
+
+    private static final Set<Class<?>> CONTAINER_CHECKING_VALUE_PROCESSORS = ImmutableSet.of(
+            AbstractSingleDataSingleTargetProcessor.class,
+            AbstractSpongeValueProcessor.class);
+
+    @Nullable
+    static Class<?> getRequiredHolderClass(DataProcessor<?, ?> processor) {
+        if (!HOLDER_CHECKING_DATA_PROCESSORS.contains(getDeclaringClass(processor, "supports", DataHolder.class))) {
+            return null;
+        }
+        if (processor instanceof AbstractSingleDataSingleTargetProcessor) {
+            return ((AbstractSingleDataSingleTargetProcessor<?, ?, ?, ?, ?>) processor).getHolderClass();
+        }
+        if (processor instanceof AbstractMultiDataSingleTargetProcessor) {
+            return ((AbstractMultiDataSingleTargetProcessor<?, ?, ?>) processor).getHolderClass();
+        }
+        return null;
+    }
+
+    @Nullable
+    static Class<?> getRequiredContainerClass(ValueProcessor<?, ?> processor) {
+        if (!CONTAINER_CHECKING_VALUE_PROCESSORS.contains(getDeclaringClass(processor, "supports", ValueContainer.class))) {
+            return null;
+        }
+        if (processor instanceof AbstractSingleDataSingleTargetProcessor) {
+            return ((AbstractSingleDataSingleTargetProcessor<?, ?, ?, ?, ?>) processor).getHolderClass();
+        }
+        if (processor instanceof AbstractSpongeValueProcessor) {
+            return ((AbstractSpongeValueProcessor<?, ?, ?>) processor).getContainerClass();
+        }
+        return null;
+    }
+
+    /**
+     * Gets whether a processor restricted to the given class could support
+     * holders of the given holder class.
+     *
+     * @param required The class the processor is restricted to, or null
+     * @param holderClass The concrete class of the holder
+     * @return False if the processor can never support the holder class
+     */
+    static boolean isApplicable(@Nullable Class<?> required, Class<?> holderClass) {
+        return required == null || required.isAssignableFrom(holderClass);
+    }
+
+    @Nullable
+    private static Class<?> getDeclaringClass(Object processor, String name, Class<?> parameter) {
+        try {
+            return processor.getClass().getMethod(name, parameter).getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private ProcessorTargets() {
+    }
+}
@@ -32,7 +32,9 @@
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.common.data.ValueProcessor;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is really just a lazy class to handle processing on multiple
@@ -45,10 +47,34 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final Class<?>[] requiredContainerClasses;
+    // The processors that could support each container class, in priority order
+    private final Map<Class<?>, ImmutableList<ValueProcessor<E, V>>> candidatesByContainerClass = new ConcurrentHashMap<>();
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
         this.processors = processors;
+        this.requiredContainerClasses = new Class<?>[processors.size()];
+        for (int i = 0; i < processors.size(); i++) {
+            this.requiredContainerClasses[i] = ProcessorTargets.getRequiredContainerClass(processors.get(i));
+        }
+    }
+
+    private ImmutableList<ValueProcessor<E, V>> getCandidates(ValueContainer<?> container) {
+        final Class<?> containerClass = container.getClass();
+        final ImmutableList<ValueProcessor<E, V>> candidates = this.candidatesByContainerClass.get(containerClass);
+        if (candidates != null) {
+            return candidates;
+        }
+        final ImmutableList.Builder<ValueProcessor<E, V>> builder = ImmutableList.builder();
+        for (int i = 0; i < this.processors.size(); i++) {
+            if (ProcessorTargets.isApplicable(this.requiredContainerClasses[i], containerClass)) {
+                builder.add(this.processors.get(i));
+            }
+        }
+        final ImmutableList<ValueProcessor<E, V>> resolved = builder.build();
+        final ImmutableList<ValueProcessor<E, V>> previous = this.candidatesByContainerClass.putIfAbsent(containerClass, resolved);
+        return previous == null ? resolved : previous;
     }
 
     @Override
@@ -63,7 +89,7 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getCandidates(container)) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -76,7 +102,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getCandidates(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -89,7 +115,7 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getCandidates(container)) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -99,7 +125,7 @@ public boolean supports(ValueContainer<?> container) {
 
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getCandidates(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -107,7 +133,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getCandidates(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -122,7 +148,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getCandidates(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
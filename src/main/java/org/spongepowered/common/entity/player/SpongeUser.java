@@ -56,6 +56,7 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
+import org.spongepowered.common.service.user.UserProfileIndex;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
@@ -308,6 +309,7 @@ public void save() {
         try {
             CompressedStreamTools.writeCompressed(tag, new FileOutputStream(dataFile));
             dirtyUsers.remove(this);
+            UserProfileIndex.onPlayerDataSaved(getUniqueId(), getName());
         } catch (IOException e) {
             SpongeImpl.getLogger().warn("Failed to save user file [{}]!", dataFile, e);
         }
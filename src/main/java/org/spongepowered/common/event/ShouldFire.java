@@ -46,6 +46,8 @@ public class ShouldFire {
 
     public static boolean CHANGE_BLOCK_EVENT = false;
     public static boolean CHANGE_BLOCK_EVENT_BREAK = false;
+    public static boolean CHANGE_BLOCK_EVENT_DECAY = false;
+    public static boolean CHANGE_BLOCK_EVENT_MODIFY = false;
     public static boolean CHANGE_BLOCK_EVENT_PLACE = false;
     public static boolean CHANGE_BLOCK_EVENT_POST = false;
 
@@ -63,4 +65,6 @@ public class ShouldFire {
     public static boolean DEFUSE_EXPLOSIVE_EVENT_POST = false;
 
     public static boolean TICK_BLOCK_EVENT = false;
+
+    public static boolean COLLIDE_ENTITY_EVENT = false;
 }
@@ -40,9 +40,11 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.ThreadUtil;
 
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -54,13 +56,20 @@ public class SpongeCauseStackManager implements CauseStackManager {
 
     public static final boolean DEBUG_CAUSE_FRAMES = Boolean.valueOf(System.getProperty("sponge.debugcauseframes", "false"));
 
-    private final Deque<Object> cause = Queues.newArrayDeque();
+    // The cause stack is an immutable linked list of nodes, each memoizing
+    // the Cause built for it. Popping back to a node restores its Cause for
+    // free as long as the context didn't change.
+    private final CauseNode root = new CauseNode(null, null);
+    private CauseNode cause = this.root;
     private final Deque<CauseStackFrameImpl> frames = Queues.newArrayDeque();
     private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
 
     private int min_depth = 0;
-    private Cause cached_cause;
-    private EventContext cached_ctx;
+    @Nullable private EventContext cached_ctx;
+
+    private final List<DeferredCause> deferred = new ArrayList<>();
+    private int deferred_depth = 0;
+    @Nullable private DeferredCause pending_deferred;
 
     @Inject
     private SpongeCauseStackManager() { }
@@ -81,17 +90,91 @@ private static boolean isPermittedThread() {
             || Thread.currentThread().getName().equals("Server Shutdown Thread");
     }
 
+    private void checkDeferredCause() {
+        if (this.pending_deferred != null) {
+            materializeDeferredCause();
+        }
+    }
+
+    /**
+     * Pushes the pending deferred cause onto the stack, followed by a frame
+     * which isolates any changes made while it is on the stack.
+     */
+    private void materializeDeferredCause() {
+        final DeferredCause deferred = this.pending_deferred;
+        this.pending_deferred = null;
+        this.cause = new CauseNode(deferred.cause, this.cause);
+        deferred.frame = (CauseStackFrameImpl) pushCauseFrame();
+    }
+
+    /**
+     * Defers pushing the given cause, and a frame on top of it, until the
+     * stack is next accessed. If nothing accesses the stack before the
+     * matching {@link #popDeferredCause()}, neither is ever pushed and the
+     * cached cause stays valid.
+     *
+     * <p>Reading the current context does not require the deferred cause
+     * and thus doesn't push it.</p>
+     *
+     * @param obj The cause to defer
+     */
+    public void pushDeferredCause(Object obj) {
+        enforceMainThread();
+        checkNotNull(obj, "obj");
+        checkDeferredCause();
+        final DeferredCause deferred;
+        if (this.deferred_depth == this.deferred.size()) {
+            deferred = new DeferredCause();
+            this.deferred.add(deferred);
+        } else {
+            deferred = this.deferred.get(this.deferred_depth);
+        }
+        this.deferred_depth++;
+        deferred.cause = obj;
+        this.pending_deferred = deferred;
+    }
+
+    /**
+     * Pops the cause pushed by the last {@link #pushDeferredCause(Object)}.
+     * If it was pushed onto the stack in the meantime, its frame and the
+     * cause itself are popped.
+     */
+    public void popDeferredCause() {
+        enforceMainThread();
+        if (this.deferred_depth == 0) {
+            throw new IllegalStateException("Cause stack corruption, tried to pop a deferred cause while none was pushed");
+        }
+        final DeferredCause deferred = this.deferred.get(--this.deferred_depth);
+        if (this.pending_deferred == deferred) {
+            this.pending_deferred = null;
+            deferred.reset();
+            return;
+        }
+        final CauseStackFrameImpl frame = deferred.frame;
+        deferred.reset();
+        popCauseFrame(frame);
+        popCause();
+    }
+
     @Override
     public Cause getCurrentCause() {
         enforceMainThread();
-        if (this.cached_cause == null || this.cached_ctx == null) {
-            if (this.cause.isEmpty()) {
-                this.cached_cause = Cause.of(getCurrentContext(), SpongeImpl.getGame());
+        checkDeferredCause();
+        final EventContext context = getCurrentContext();
+        final CauseNode node = this.cause;
+        if (node.cached_cause == null || node.cached_ctx != context) {
+            if (node == this.root) {
+                node.cached_cause = Cause.of(context, SpongeImpl.getGame());
             } else {
-                this.cached_cause = Cause.of(getCurrentContext(), this.cause);
+                final List<Object> causes = new ArrayList<>(node.depth);
+                for (CauseNode n = node; n != this.root; n = n.parent) {
+                    causes.add(n.obj);
+                }
+                node.cached_cause = Cause.of(context, causes);
             }
+            node.cached_ctx = context;
         }
-        return this.cached_cause;
+        return node.cached_cause;
     }
 
     @Override
@@ -106,21 +189,23 @@ public EventContext getCurrentContext() {
     @Override
     public CauseStackManager pushCause(Object obj) {
         enforceMainThread();
+        checkDeferredCause();
         checkNotNull(obj, "obj");
-        this.cached_cause = null;
-        this.cause.push(obj);
+        this.cause = new CauseNode(obj, this.cause);
         return this;
     }
 
     @Override
     public Object popCause() {
         enforceMainThread();
-        if (this.cause.size() <= this.min_depth) {
+        checkDeferredCause();
+        if (this.cause.depth <= this.min_depth) {
             throw new IllegalStateException("Cause stack corruption, tried to pop more objects off than were pushed since last frame (Size was "
-                    + this.cause.size() + " but mid depth is " + this.min_depth + ")");
+                    + this.cause.depth + " but mid depth is " + this.min_depth + ")");
         }
-        this.cached_cause = null;
-        return this.cause.pop();
+        final Object obj = this.cause.obj;
+        this.cause = this.cause.parent;
+        return obj;
     }
 
     @Override
@@ -134,15 +219,18 @@ public void popCauses(int n) {
     @Override
     public Object peekCause() {
         enforceMainThread();
-        return this.cause.peek();
+        checkDeferredCause();
+        return this.cause.obj;
     }
 
     @Override
     public StackFrame pushCauseFrame() {
         enforceMainThread();
+        checkDeferredCause();
         CauseStackFrameImpl frame = new CauseStackFrameImpl(this.min_depth);
+        frame.old_ctx = this.cached_ctx;
         this.frames.push(frame);
-        this.min_depth = this.cause.size();
+        this.min_depth = this.cause.depth;
         if (DEBUG_CAUSE_FRAMES) {
             // Attach an exception to the frame so that if there is any frame
             // corruption we can print out the stack trace of when the frames
@@ -155,6 +243,7 @@ public StackFrame pushCauseFrame() {
     @Override
     public void popCauseFrame(StackFrame oldFrame) {
         enforceMainThread();
+        checkDeferredCause();
         checkNotNull(oldFrame, "oldFrame");
         CauseStackFrameImpl frame = this.frames.peek();
         if (frame != oldFrame) {
@@ -229,14 +318,12 @@ public void popCauseFrame(StackFrame oldFrame) {
             ctx_invalid = true;
         }
         if (ctx_invalid) {
-            this.cached_ctx = null;
+            // The context is back to what it was when the frame was pushed
+            this.cached_ctx = frame.old_ctx;
         }
         // If there were any objects left on the stack then we pop them off
-        while (this.cause.size() > this.min_depth) {
-            this.cause.pop();
-
-            // and clear the cached causes
-            this.cached_cause = null;
+        while (this.cause.depth > this.min_depth) {
+            this.cause = this.cause.parent;
         }
         this.min_depth = frame.old_min_depth;
     }
@@ -244,6 +331,7 @@ public void popCauseFrame(StackFrame oldFrame) {
     @Override
     public <T> CauseStackManager addContext(EventContextKey<T> key, T value) {
         enforceMainThread();
+        checkDeferredCause();
         checkNotNull(key, "key");
         checkNotNull(value, "value");
         this.cached_ctx = null;
@@ -271,6 +359,7 @@ public <T> Optional<T> getContext(EventContextKey<T> key) {
     @SuppressWarnings("unchecked")
     public <T> Optional<T> removeContext(EventContextKey<T> key) {
         enforceMainThread();
+        checkDeferredCause();
         checkNotNull(key, "key");
         this.cached_ctx = null;
         Object existing = this.ctx.remove(key);
@@ -283,6 +372,36 @@ public <T> Optional<T> removeContext(EventContextKey<T> key) {
         return Optional.ofNullable((T) existing);
     }
 
+    private static final class DeferredCause {
+
+        @Nullable Object cause;
+        @Nullable CauseStackFrameImpl frame;
+
+        void reset() {
+            this.cause = null;
+            this.frame = null;
+        }
+
+    }
+
+    private static final class CauseNode {
+
+        @Nullable final Object obj;
+        @Nullable final CauseNode parent;
+        final int depth;
+
+        // lazy loaded
+        @Nullable Cause cached_cause;
+        @Nullable EventContext cached_ctx;
+
+        CauseNode(@Nullable Object obj, @Nullable CauseNode parent) {
+            this.obj = obj;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+    }
+
     // TODO could pool these for more fasts
     public static class CauseStackFrameImpl implements StackFrame {
 
@@ -290,6 +409,7 @@ public static class CauseStackFrameImpl implements StackFrame {
         @Nullable private Map<EventContextKey<?>, Object> stored_ctx_values;
         @Nullable private Set<EventContextKey<?>> new_ctx_values;
         public int old_min_depth;
+        @Nullable EventContext old_ctx;
 
         public Exception stack_debug = null;
 
@@ -27,9 +27,8 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.SpongeTimings;
 import co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -51,7 +50,6 @@
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -63,6 +61,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -85,39 +84,20 @@ public class SpongeEventManager implements EventManager {
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Entries are immutable and only replaced while holding {@link #lock},
+     * so posting never has to synchronize. Registering or removing handlers
+     * rebakes only the entries of event types the handlers listen to.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build((eventClass) -> bakeHandlers(eventClass));
+    private final Map<Class<? extends Event>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150, 0.75f, 1);
+
+    private final LongAdder bakes = new LongAdder();
+    private final LongAdder rebakes = new LongAdder();
+    private final LongAdder rebakeTime = new LongAdder();
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent) {
@@ -136,6 +116,65 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent) {
         return new RegisteredListener.Cache(handlers);
     }
 
+    /**
+     * Rebakes the cached handler lists affected by the given handlers being
+     * added or removed. Affected entries are baked again from
+     * {@link #handlersByEvent} the same way as {@link #bakeHandlers(Class)}
+     * does, so the dispatch order never depends on whether an entry was
+     * cached before the change. Must be called while holding {@link #lock}.
+     *
+     * @param changed The added or removed handlers
+     */
+    private void rebakeHandlers(List<RegisteredListener<?>> changed) {
+        if (this.handlersCache.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        SpongeTimings.eventListenerRebakeTimer.startTimingIfSync();
+        try {
+            for (Map.Entry<Class<? extends Event>, RegisteredListener.Cache> entry : this.handlersCache.entrySet()) {
+                final Class<? extends Event> eventClass = entry.getKey();
+                for (RegisteredListener<?> handler : changed) {
+                    if (handler.getEventClass().isAssignableFrom(eventClass)) {
+                        entry.setValue(bakeHandlers(eventClass));
+                        this.rebakes.increment();
+                        break;
+                    }
+                }
+            }
+        } finally {
+            SpongeTimings.eventListenerRebakeTimer.stopTimingIfSync();
+            this.rebakeTime.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets the amount of handler caches baked from scratch.
+     *
+     * @return The amount of full bakes
+     */
+    public long getBakeCount() {
+        return this.bakes.sum();
+    }
+
+    /**
+     * Gets the amount of handler caches rebaked due to listener changes.
+     *
+     * @return The amount of rebakes
+     */
+    public long getRebakeCount() {
+        return this.rebakes.sum();
+    }
+
+    /**
+     * Gets the total time spent rebaking handler caches, in nanoseconds.
+     *
+     * @return The rebake time
+     */
+    public long getRebakeTime() {
+        return this.rebakeTime.sum();
+    }
+
     @Nullable
     private static String getHandlerErrorOrNull(Method method) {
         int modifiers = method.getModifiers();
@@ -171,19 +210,18 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            List<RegisteredListener<?>> changed = new ArrayList<>(handlers.size());
             for (RegisteredListener<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    changed.add(handler);
                     this.checker.registerListenerFor(handler.getEventClass());
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                rebakeHandlers(changed);
+            }
         }
     }
 
@@ -204,7 +242,18 @@ private void disableFields(Collection<RegisteredListener<? extends Event>> handl
 
     // Override in SpongeModEventManager
     protected boolean hasAnyListeners(Class<? extends Event> clazz) {
-        return !this.handlersCache.get(clazz).getListeners().isEmpty();
+        return !getHandlerCache(clazz).getListeners().isEmpty();
+    }
+
+    /**
+     * Gets whether an event of the given type would currently be received by
+     * any listener, including listeners registered for any of its supertypes.
+     *
+     * @param eventClass The event type
+     * @return True if the event has listeners
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return hasAnyListeners(eventClass);
     }
 
     public void registerListener(PluginContainer plugin, Object listenerObject) {
@@ -304,23 +353,22 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            List<RegisteredListener<?>> changed = new ArrayList<>();
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changed.add(handler);
                     this.checker.unregisterListenerFor(handler.getEventClass());
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                rebakeHandlers(changed);
+            }
         }
     }
 
@@ -337,7 +385,24 @@ public void unregisterPluginListeners(Object pluginObj) {
     }
 
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.get(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
+    }
+
+    protected RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            // Bake and publish under the lock so a concurrent (un)registration
+            // can't be missed by the freshly baked cache
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(eventClass);
+                if (cache == null) {
+                    cache = bakeHandlers(eventClass);
+                    this.handlersCache.put(eventClass, cache);
+                    this.bakes.increment();
+                }
+            }
+        }
+        return cache;
     }
 
     @SuppressWarnings("unchecked")
@@ -360,10 +425,18 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
             }
             return event instanceof Cancellable && ((Cancellable) event).isCancelled();
         }
+        // Unless disabled, a listener's plugin is only pushed as cause once the
+        // listener actually uses the cause stack
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+        final boolean lazyCauses = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useLazyListenerCauses();
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
         for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            Sponge.getCauseStackManager().pushCause(handler.getPlugin());
-            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            if (lazyCauses) {
+                causeStackManager.pushDeferredCause(handler.getPlugin());
+            } else {
+                causeStackManager.pushCause(handler.getPlugin());
+            }
+            try (CauseStackManager.StackFrame frame = lazyCauses ? null : causeStackManager.pushCauseFrame()) {
                 handler.getTimingsHandler().startTimingIfSync();
                 if (event instanceof AbstractEvent) {
                     ((AbstractEvent) event).currentOrder = handler.getOrder();
@@ -374,7 +447,11 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
             } finally {
                 handler.getTimingsHandler().stopTimingIfSync();
             }
-            Sponge.getCauseStackManager().popCause();
+            if (lazyCauses) {
+                causeStackManager.popDeferredCause();
+            } else {
+                causeStackManager.popCause();
+            }
         }
         if (event instanceof AbstractEvent) {
             ((AbstractEvent) event).currentOrder = null;
@@ -133,6 +133,14 @@ public final ListMultimap<K, V> orElse(ListMultimap<K, V> list) {
         return this.captured == null ? list : this.captured.isEmpty() ? list : this.captured;
     }
 
+    /**
+     * Drops the captured objects so that a pooled context can be reused.
+     * The capture is recreated lazily the next time it is needed.
+     */
+    final void reset() {
+        this.captured = null;
+    }
+
     /**
      * If not empty, returns a sequential stream of values associated with key.
      * 
@@ -81,6 +81,14 @@ public final List<T> orElse(List<T> list) {
         return this.isEmpty() ? list : this.captured;
     }
 
+    /**
+     * Drops the captured objects so that a pooled context can be reused.
+     * The capture is recreated lazily the next time it is needed.
+     */
+    final void reset() {
+        this.captured = null;
+    }
+
     public final List<T> orEmptyList() {
         return this.captured == null ? Collections.emptyList() : this.captured;
     }
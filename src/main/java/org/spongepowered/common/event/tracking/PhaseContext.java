@@ -76,6 +76,9 @@
     @Nullable protected User owner;
     @Nullable protected User notifier;
     private boolean processImmediately;
+    @Nullable PhaseContextPool<?> pool;
+    boolean isPooled;
+    @Nullable private PhaseData phaseData;
 
     private Object source;
 
@@ -242,6 +245,11 @@ public <T> Optional<T> getSource(Class<T> sourceClass) {
         return Optional.empty();
     }
 
+    @Nullable
+    Object getSource() {
+        return this.source;
+    }
+
     public <T> T requireSource(Class<T> targetClass) {
         return getSource(targetClass)
                 .orElseThrow(TrackingUtil.throwWithContext("Expected to be ticking over at a location!", this));
@@ -397,6 +405,62 @@ public P markEmpty() {
     @Override
     public void close() { // Should never throw an exception
         PhaseTracker.getInstance().completePhase(this.state);
+        if (this.pool != null) {
+            this.pool.release(this);
+        }
+    }
+
+    /**
+     * Clears everything that was added to this context, so that it can be
+     * reused by its {@link PhaseContextPool}. The capture suppliers are kept
+     * and only their captures are dropped. Subclasses with their own state
+     * must clear it as well.
+     */
+    protected void reset() {
+        this.isCompleted = false;
+        this.source = null;
+        this.owner = null;
+        this.notifier = null;
+        this.processImmediately = false;
+        if (this.blocksSupplier != null) {
+            this.blocksSupplier.reset();
+        }
+        if (this.blockItemDropsSupplier != null) {
+            this.blockItemDropsSupplier.reset();
+        }
+        if (this.blockItemEntityDropsSupplier != null) {
+            this.blockItemEntityDropsSupplier.reset();
+        }
+        if (this.capturedItemsSupplier != null) {
+            this.capturedItemsSupplier.reset();
+        }
+        if (this.capturedEntitiesSupplier != null) {
+            this.capturedEntitiesSupplier.reset();
+        }
+        if (this.capturedItemStackSupplier != null) {
+            this.capturedItemStackSupplier.reset();
+        }
+        if (this.entityItemDropsSupplier != null) {
+            this.entityItemDropsSupplier.reset();
+        }
+        if (this.entityItemEntityDropsSupplier != null) {
+            this.entityItemEntityDropsSupplier.reset();
+        }
+        if (this.blockEntitySpawnSupplier != null) {
+            this.blockEntitySpawnSupplier.reset();
+        }
+        if (this.captureBlockPos != null) {
+            this.captureBlockPos.setPos(null);
+            this.captureBlockPos.setWorld((IMixinWorldServer) null);
+        }
+    }
+
+    PhaseData toPhaseData(IPhaseState<?> state) {
+        // Reused across switches so that pooled contexts don't allocate a new PhaseData each time
+        if (this.phaseData == null || this.phaseData.state != state) {
+            this.phaseData = new PhaseData(this, state);
+        }
+        return this.phaseData;
     }
 
 
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable {@link PhaseContext}s for a single {@link IPhaseState}.
+ *
+ * <p>Contexts are created fully configured by the factory, including the
+ * capture suppliers they need, and are handed back to the pool when they are
+ * {@link PhaseContext#close() closed}. Since the capture lists within the
+ * suppliers are only created when something is captured, a pooled context
+ * that captures nothing does not allocate anything when it is reused.</p>
+ *
+ * <p>Like the {@link PhaseTracker} itself, pools are only to be used from
+ * the server thread.</p>
+ */
+public final class PhaseContextPool<C extends PhaseContext<C>> {
+
+    private static final int MAX_POOLED_CONTEXTS = 16;
+    private static final List<PhaseContextPool<?>> POOLS = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final Supplier<C> factory;
+    // Phases of the same state can be re-entered while the outer context is still in use,
+    // so more than one context may be pooled at once
+    private final ArrayDeque<C> pooled = new ArrayDeque<>();
+    private long allocations;
+    private long hits;
+
+    public PhaseContextPool(String name, Supplier<C> factory) {
+        this.name = checkNotNull(name, "Name cannot be null!");
+        this.factory = checkNotNull(factory, "Factory cannot be null!");
+        POOLS.add(this);
+    }
+
+    /**
+     * Gets every pool that has been created, for debugging purposes.
+     *
+     * @return The pools
+     */
+    public static List<PhaseContextPool<?>> getPools() {
+        return Collections.unmodifiableList(POOLS);
+    }
+
+    /**
+     * Gets a context from the pool, or creates a new one if the pool is
+     * currently empty.
+     *
+     * @return The context, ready to be built and switched to
+     */
+    public C acquire() {
+        C context = this.pooled.poll();
+        if (context == null) {
+            this.allocations++;
+            context = this.factory.get();
+            context.pool = this;
+        } else {
+            this.hits++;
+        }
+        context.isPooled = false;
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    void release(PhaseContext<?> context) {
+        if (context.isPooled) {
+            // Already released, most likely closed more than once
+            return;
+        }
+        context.reset();
+        context.isPooled = true;
+        if (this.pooled.size() < MAX_POOLED_CONTEXTS) {
+            this.pooled.push((C) context);
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets how many contexts had to be created because the pool was empty.
+     *
+     * @return The number of allocations
+     */
+    public long getAllocations() {
+        return this.allocations;
+    }
+
+    /**
+     * Gets how many contexts were reused from the pool.
+     *
+     * @return The number of pool hits
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    public int getPooledCount() {
+        return this.pooled.size();
+    }
+
+    @Override
+    public String toString() {
+        return com.google.common.base.MoreObjects.toStringHelper(this)
+                .add("name", this.name)
+                .add("allocations", this.allocations)
+                .add("hits", this.hits)
+                .add("pooled", this.pooled.size())
+                .toString();
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.world.LocatableBlock;
+import org.spongepowered.common.event.tracking.phase.TrackingPhases;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Profiles the time and memory spent within each {@link IPhaseState} by
+ * following the pushes and pops of the {@link PhaseStack}. Every phase entered
+ * on the server thread during a sampled tick is recorded as a frame named
+ * after its state, the type of its source and, for plugin phases, the plugin
+ * responsible. The results are written as collapsed stacks that can be fed to
+ * flamegraph tools.
+ *
+ * <p>When the profiler is not running, the only cost is a single field check
+ * per phase switch. While it is running, the number of distinct stacks kept
+ * is capped so that long sessions do not grow without bound.</p>
+ */
+public final class PhaseProfiler {
+
+    private static final int MAX_DEPTH = 128;
+    private static final int MAX_NODES = 16384;
+    private static final String TRUNCATED = "[truncated]";
+    private static final String NO_SOURCE = "none";
+
+    static boolean enabled;
+
+    private static boolean sampling;
+    private static int sampleInterval;
+    private static long ticks;
+    private static long sampledTicks;
+    private static boolean trackAllocations;
+    @Nullable private static Thread serverThread;
+
+    private static Node root = new Node("root");
+    private static int nodeCount;
+    private static final Frame[] FRAMES = new Frame[MAX_DEPTH];
+    private static int depth;
+    private static final Map<IPhaseState<?>, String> stateNames = new IdentityHashMap<>();
+    private static final Map<Class<?>, String> typeNames = new IdentityHashMap<>();
+
+    static {
+        for (int i = 0; i < MAX_DEPTH; i++) {
+            FRAMES[i] = new Frame();
+        }
+    }
+
+    private PhaseProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts profiling, discarding anything that was recorded before. Must be
+     * called from the server thread.
+     *
+     * @param interval Profile one in every this many ticks
+     */
+    public static void start(int interval) {
+        checkArgument(interval > 0, "Interval must be positive!");
+        reset();
+        sampleInterval = interval;
+        serverThread = Thread.currentThread();
+        trackAllocations = isAllocationTrackingAvailable();
+        enabled = true;
+    }
+
+    /**
+     * Stops profiling and writes the collapsed stacks recorded so far to the
+     * given directory, one file for time and, if the JVM supports it, one
+     * for allocations.
+     *
+     * @param directory The directory to write to
+     * @return The files that were written
+     * @throws IOException If the files could not be written
+     */
+    public static List<File> stop(File directory) throws IOException {
+        enabled = false;
+        sampling = false;
+        depth = 0;
+        try {
+            final List<File> files = new ArrayList<>();
+            directory.mkdirs();
+            final String prefix = "phases-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now());
+            final File timeFile = new File(directory, prefix + "-time.folded");
+            write(timeFile, node -> node.selfNanos);
+            files.add(timeFile);
+            if (trackAllocations) {
+                final File allocationFile = new File(directory, prefix + "-alloc.folded");
+                write(allocationFile, node -> node.selfBytes);
+                files.add(allocationFile);
+            }
+            return files;
+        } finally {
+            reset();
+        }
+    }
+
+    public static long getSampledTicks() {
+        return sampledTicks;
+    }
+
+    public static int getStackCount() {
+        return nodeCount;
+    }
+
+    public static void onServerTickStart() {
+        if (!enabled) {
+            return;
+        }
+        sampling = ticks++ % sampleInterval == 0;
+        if (sampling) {
+            sampledTicks++;
+        }
+    }
+
+    static void onPush(PhaseData data) {
+        if (!sampling || Thread.currentThread() != serverThread || depth >= MAX_DEPTH) {
+            return;
+        }
+        final Node parent = depth == 0 ? root : FRAMES[depth - 1].node;
+        final Frame frame = FRAMES[depth++];
+        frame.data = data;
+        frame.node = parent.getChild(data.state, getLabel(data));
+        frame.childNanos = 0;
+        frame.childBytes = 0;
+        frame.startBytes = trackAllocations ? ThreadAllocations.get() : 0;
+        frame.startNanos = System.nanoTime();
+    }
+
+    static void onPop(PhaseData data) {
+        // Phases entered before profiling started or outside of a sampled tick were never pushed
+        if (depth == 0 || FRAMES[depth - 1].data != data) {
+            return;
+        }
+        final long nanos = System.nanoTime();
+        final Frame frame = FRAMES[--depth];
+        final long elapsedNanos = nanos - frame.startNanos;
+        final long allocatedBytes = trackAllocations ? ThreadAllocations.get() - frame.startBytes : 0;
+        frame.node.selfNanos += elapsedNanos - frame.childNanos;
+        frame.node.selfBytes += allocatedBytes - frame.childBytes;
+        frame.data = null;
+        if (depth > 0) {
+            final Frame parent = FRAMES[depth - 1];
+            parent.childNanos += elapsedNanos;
+            parent.childBytes += allocatedBytes;
+        }
+    }
+
+    private static boolean isAllocationTrackingAvailable() {
+        try {
+            return ThreadAllocations.isAvailable();
+        } catch (Throwable t) {
+            // Not a HotSpot based JVM
+            return false;
+        }
+    }
+
+    private static String getLabel(PhaseData data) {
+        final Object source = data.context.getSource();
+        final String sourceName = getSourceName(source);
+        if (data.state.getPhase() != TrackingPhases.PLUGIN && !(source instanceof Task) && !(source instanceof PluginContainer)) {
+            return sourceName;
+        }
+        final String plugin = getPlugin(source);
+        return plugin == null ? sourceName : sourceName + "," + plugin;
+    }
+
+    private static String getSourceName(@Nullable Object source) {
+        if (source == null) {
+            return NO_SOURCE;
+        }
+        if (source instanceof Entity) {
+            return ((Entity) source).getType().getId();
+        }
+        if (source instanceof TileEntity) {
+            return ((TileEntity) source).getType().getId();
+        }
+        if (source instanceof LocatableBlock) {
+            return ((LocatableBlock) source).getBlockState().getType().getId();
+        }
+        return typeNames.computeIfAbsent(source.getClass(), PhaseProfiler::getTypeName);
+    }
+
+    @Nullable
+    private static String getPlugin(@Nullable Object source) {
+        if (source instanceof PluginContainer) {
+            return ((PluginContainer) source).getId();
+        }
+        if (source instanceof Task) {
+            return ((Task) source).getOwner().getId();
+        }
+        if (source == null) {
+            return null;
+        }
+        final Optional<PluginContainer> plugin = Sponge.getPluginManager().fromInstance(source);
+        return plugin.map(PluginContainer::getId).orElse(null);
+    }
+
+    private static String getTypeName(Class<?> type) {
+        final String name = type.getSimpleName();
+        return name.isEmpty() ? type.getName() : name;
+    }
+
+    private static String getStateName(IPhaseState<?> state) {
+        String name = stateNames.get(state);
+        if (name == null) {
+            name = state.toString();
+            if (name.startsWith(state.getClass().getName() + "@")) {
+                // No useful toString, the class is the best we can do
+                name = getTypeName(state.getClass());
+            }
+            stateNames.put(state, name);
+        }
+        return name;
+    }
+
+    private static void write(File file, ToLongFunction<Node> value) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (Node child : root.getChildren()) {
+                write(writer, new StringBuilder(), child, value);
+            }
+        }
+    }
+
+    private static void write(BufferedWriter writer, StringBuilder stack, Node node, ToLongFunction<Node> value) throws IOException {
+        final int length = stack.length();
+        if (length > 0) {
+            stack.append(';');
+        }
+        stack.append(node.name);
+        final long amount = value.applyAsLong(node);
+        if (amount > 0) {
+            writer.write(stack.toString());
+            writer.write(' ');
+            writer.write(Long.toString(amount));
+            writer.newLine();
+        }
+        for (Node child : node.getChildren()) {
+            write(writer, stack, child, value);
+        }
+        stack.setLength(length);
+    }
+
+    private static void reset() {
+        root = new Node("root");
+        nodeCount = 0;
+        depth = 0;
+        ticks = 0;
+        sampledTicks = 0;
+        serverThread = null;
+        for (Frame frame : FRAMES) {
+            frame.data = null;
+            frame.node = null;
+        }
+        stateNames.clear();
+        typeNames.clear();
+    }
+
+    private static final class Frame {
+
+        @Nullable PhaseData data;
+        @Nullable Node node;
+        long startNanos;
+        long startBytes;
+        long childNanos;
+        long childBytes;
+
+        Frame() {
+        }
+    }
+
+    private static final class Node {
+
+        final String name;
+        @Nullable private Map<IPhaseState<?>, Map<String, Node>> children;
+        @Nullable private Node truncated;
+        long selfNanos;
+        long selfBytes;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node getChild(IPhaseState<?> state, String label) {
+            if (this.children == null) {
+                this.children = new IdentityHashMap<>();
+            }
+            final Map<String, Node> byLabel = this.children.computeIfAbsent(state, key -> new HashMap<>());
+            Node child = byLabel.get(label);
+            if (child == null) {
+                if (nodeCount >= MAX_NODES) {
+                    // Out of room, so everything new under this node is lumped together
+                    if (this.truncated == null) {
+                        this.truncated = new Node(TRUNCATED);
+                    }
+                    return this.truncated;
+                }
+                nodeCount++;
+                // Semicolons separate frames in the collapsed format
+                child = new Node((getStateName(state) + "[" + label + "]").replace(';', ':'));
+                byLabel.put(label, child);
+            }
+            return child;
+        }
+
+        List<Node> getChildren() {
+            final List<Node> list = new ArrayList<>();
+            if (this.children != null) {
+                for (Map<String, Node> byLabel : this.children.values()) {
+                    list.addAll(byLabel.values());
+                }
+            }
+            if (this.truncated != null) {
+                list.add(this.truncated);
+            }
+            return list;
+        }
+    }
+
+    private static final class ThreadAllocations {
+
+        @Nullable private static final com.sun.management.ThreadMXBean BEAN;
+
+        static {
+            final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            BEAN = bean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled()
+                    ? (com.sun.management.ThreadMXBean) bean
+                    : null;
+        }
+
+        static boolean isAvailable() {
+            return BEAN != null;
+        }
+
+        static long get() {
+            return BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
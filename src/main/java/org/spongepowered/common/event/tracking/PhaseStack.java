@@ -73,18 +73,25 @@ PhaseContext<?> peekContext() {
     }
 
     PhaseData pop() {
-        return this.states.pop();
+        final PhaseData data = this.states.pop();
+        if (PhaseProfiler.enabled) {
+            PhaseProfiler.onPop(data);
+        }
+        return data;
     }
 
     private PhaseStack push(PhaseData tuple) {
         checkNotNull(tuple, "Tuple cannot be null!");
         checkArgument(tuple.context.isComplete(), "Phase context must be complete: %s", tuple);
         this.states.push(tuple);
+        if (PhaseProfiler.enabled) {
+            PhaseProfiler.onPush(tuple);
+        }
         return this;
     }
 
     PhaseStack push(IPhaseState<?> state, PhaseContext<?> context) {
-        return push(new PhaseData(context, state));
+        return push(context.toPhaseData(state));
     }
 
     public void forEach(Consumer<PhaseData> consumer) {
@@ -71,6 +71,7 @@
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.event.tracking.phase.block.BlockPhase;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
 import org.spongepowered.common.event.tracking.phase.tick.DimensionContext;
@@ -96,11 +97,14 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A simple utility for aiding in tracking, either with resolving notifiers
  * and owners, or proxying out the logic for ticking a block, entity, etc.
@@ -122,6 +126,9 @@ public final class TrackingUtil {
                     }
             ;
     public static final int EVENT_COUNT = 5;
+    private static final BlockChange[] BLOCK_CHANGES = BlockChange.values();
+    private static final List<TransactionBuffers> TRANSACTION_BUFFERS = new ArrayList<>();
+    private static int transactionBufferDepth;
     public static final Function<BlockSnapshot, Transaction<BlockSnapshot>> TRANSACTION_CREATION = (blockSnapshot) -> {
         final Location<World> originalLocation = blockSnapshot.getLocation().get();
         final WorldServer worldServer = (WorldServer) originalLocation.getExtent();
@@ -253,7 +260,9 @@ public static void updateTickBlock(IMixinWorldServer mixinWorld, Block block, Bl
                     .state((BlockState) state)
                     .build();
             Sponge.getCauseStackManager().pushCause(locatable);
-            IPhaseState<?> phase = ((IMixinBlock) block).requiresBlockCapture() ? TickPhase.Tick.BLOCK : TickPhase.Tick.NO_CAPTURE_BLOCK;
+            IPhaseState<?> phase = ((IMixinBlock) block).requiresBlockCapture() && capturesBlockChanges(mixinWorld)
+                                   ? TickPhase.Tick.BLOCK
+                                   : TickPhase.Tick.NO_CAPTURE_BLOCK;
             final PhaseContext<?> phaseContext = phase.createPhaseContext()
                     .source(locatable);
     
@@ -293,7 +302,9 @@ public static void randomTickBlock(PhaseTracker phaseTracker, IMixinWorldServer
                     .state((BlockState) state)
                     .build();
             Sponge.getCauseStackManager().pushCause(locatable);
-            IPhaseState<?> phase = ((IMixinBlock) block).requiresBlockCapture() ? TickPhase.Tick.RANDOM_BLOCK : TickPhase.Tick.NO_CAPTURE_BLOCK;
+            IPhaseState<?> phase = ((IMixinBlock) block).requiresBlockCapture() && capturesBlockChanges(mixinWorld)
+                                   ? TickPhase.Tick.RANDOM_BLOCK
+                                   : TickPhase.Tick.NO_CAPTURE_BLOCK;
             final PhaseContext<?> phaseContext = phase.createPhaseContext()
                     .source(locatable);
     
@@ -320,6 +331,22 @@ private static void checkAndAssignBlockTickConfig(Block block, WorldServer minec
         }
     }
 
+    /**
+     * Gets whether block ticks and block events in the given world should
+     * capture their block changes. If the world opted in to skipping and no
+     * plugin listens to {@link ChangeBlockEvent}, its sub types or its super
+     * types, nothing can observe the captures, so they may write directly to
+     * the world through the no capture phase instead.
+     *
+     * @param mixinWorld The world
+     * @return True if block changes should be captured
+     */
+    private static boolean capturesBlockChanges(IMixinWorldServer mixinWorld) {
+        return ShouldFire.CHANGE_BLOCK_EVENT
+            || !mixinWorld.getActiveConfig().getConfig().getBlockCapturing().skipWithoutListeners()
+            || ((SpongeEventManager) Sponge.getEventManager()).hasListeners(ChangeBlockEvent.class);
+    }
+
     public static void tickWorldProvider(IMixinWorldServer worldServer) {
         final WorldProvider worldProvider = ((WorldServer) worldServer).provider;
         try (DimensionContext context = TickPhase.Tick.DIMENSION.createPhaseContext().source(worldProvider).buildAndSwitch()) {
@@ -330,18 +357,20 @@ public static void tickWorldProvider(IMixinWorldServer worldServer) {
     public static boolean fireMinecraftBlockEvent(WorldServer worldIn, BlockEventData event) {
         IBlockState currentState = worldIn.getBlockState(event.getPosition());
         final IMixinBlockEventData blockEvent = (IMixinBlockEventData) event;
-        IPhaseState<?> phase = blockEvent.getCaptureBlocks() ? TickPhase.Tick.BLOCK_EVENT : TickPhase.Tick.NO_CAPTURE_BLOCK;
-        final PhaseContext<?> phaseContext = phase.createPhaseContext();
-
         Object source = blockEvent.getTickBlock() != null ? blockEvent.getTickBlock() : blockEvent.getTickTileEntity();
-        if (source != null) {
-            phaseContext.source(source);
-        } else {
+        if (source == null) {
             // No source present which means we are ignoring the phase state
             boolean result = currentState.onBlockEventReceived(worldIn, event.getPosition(), event.getEventID(), event.getEventParameter());
             return result;
         }
 
+        IPhaseState<?> phase = blockEvent.getCaptureBlocks() && capturesBlockChanges((IMixinWorldServer) worldIn)
+                               ? TickPhase.Tick.BLOCK_EVENT
+                               : TickPhase.Tick.NO_CAPTURE_BLOCK;
+        // Only take a context once it's certain to be switched to and closed, so that it goes back to its pool
+        final PhaseContext<?> phaseContext = phase.createPhaseContext()
+                .source(source);
+
         if (blockEvent.getSourceUser() != null) {
             phaseContext.notifier(blockEvent.getSourceUser());
         }
@@ -468,32 +497,47 @@ public static Supplier<IllegalStateException> throwWithContext(String s, PhaseCo
      * @param context The phase context, only used by the phase for handling processes.
      * @return True if no events or transactions were cancelled
      */
-    @SuppressWarnings({"unchecked"})
     public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhaseState<?> state, PhaseContext<?> context) {
         if (snapshots.isEmpty()) {
             return false;
         }
-        ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[EVENT_COUNT];
-        ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders = new ImmutableList.Builder[EVENT_COUNT];
-        for (int i = 0; i < EVENT_COUNT; i++) {
-            transactionBuilders[i] = new ImmutableList.Builder<>();
+        final TransactionBuffers buffers = acquireTransactionBuffers();
+        try {
+            return processBlockCaptures(snapshots, state, context, buffers);
+        } finally {
+            releaseTransactionBuffers(buffers);
         }
-        final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
+    }
 
-        for (BlockSnapshot snapshot : snapshots) {
-            // This processes each snapshot to assign them to the correct event in the next area, with the
-            // correct builder array entry.
-            TRANSACTION_PROCESSOR.apply(transactionBuilders).accept(TRANSACTION_CREATION.apply(snapshot));
+    private static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhaseState<?> state, PhaseContext<?> context,
+            TransactionBuffers buffers) {
+        // Only the changes that have listeners get their own transaction list and event
+        for (BlockChange blockChange : BLOCK_CHANGES) {
+            buffers.throwsEvent[blockChange.ordinal()] = shouldThrowChangeBlockEvent(blockChange);
         }
-        for (int i = 0; i < EVENT_COUNT; i++) {
-            // Build each event array
-            transactionArrays[i] = transactionBuilders[i].build();
+        // Sorts every snapshot into the buffers in a single pass. The same transaction instance is shared
+        // between the lists, so invalidating it in one event invalidates it in the post event.
+        UUID worldUniqueId = null;
+        WorldServer worldServer = null;
+        for (BlockSnapshot snapshot : snapshots) {
+            final SpongeBlockSnapshot original = (SpongeBlockSnapshot) snapshot;
+            if (!original.getWorldUniqueId().equals(worldUniqueId)) {
+                worldUniqueId = original.getWorldUniqueId();
+                worldServer = (WorldServer) SpongeImpl.getGame().getServer().getWorld(worldUniqueId).get();
+            }
+            final Transaction<BlockSnapshot> transaction = createTransaction(worldServer, original);
+            buffers.all.add(transaction);
+            final int index = original.blockChange.ordinal();
+            if (buffers.throwsEvent[index]) {
+                buffers.byChange[index].add(transaction);
+            }
         }
 
         // Clear captured snapshots after processing them
         context.getCapturedBlocksOrEmptyList().clear();
 
-        final ChangeBlockEvent[] mainEvents = new ChangeBlockEvent[BlockChange.values().length];
+        final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
+        final ChangeBlockEvent[] mainEvents = new ChangeBlockEvent[BLOCK_CHANGES.length];
         // This likely needs to delegate to the phase in the event we don't use the source object as the main object causing the block changes
         // case in point for WorldTick event listeners since the players are captured non-deterministically
         try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
@@ -509,14 +553,11 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
                 // TODO - this should be a thing to associate additional objects in the cause, or context, but for now it's just a simple
                 // try catch to avoid bombing on performing block changes.
             }
-            // Creates the block events accordingly to the transaction arrays
-            iterateChangeBlockEvents(transactionArrays, blockEvents, mainEvents); // Needs to throw events
+            // Creates the block events accordingly to the transaction buffers
+            throwChangeBlockEvents(buffers, blockEvents, mainEvents); // Needs to throw events
             // We create the post event and of course post it in the method, regardless whether any transactions are invalidated or not
-            final ChangeBlockEvent.Post postEvent = throwMultiEventsAndCreatePost(transactionArrays, blockEvents, mainEvents);
-    
-            if (postEvent == null) { // Means that we have had no actual block changes apparently?
-                return false;
-            }
+            final ChangeBlockEvent.Post postEvent = throwPostEvent(buffers.all, mainEvents);
+            final List<Transaction<BlockSnapshot>> transactions = postEvent == null ? buffers.all : postEvent.getTransactions();
     
             final List<Transaction<BlockSnapshot>> invalid = new ArrayList<>();
     
@@ -535,17 +576,17 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
             }
     
             // Finally check the post event
-            if (postEvent.isCancelled()) {
+            if (postEvent != null && postEvent.isCancelled()) {
                 // Of course, if post is cancelled, just mark all transactions as invalid.
                 noCancelledTransactions = false;
-                for (Transaction<BlockSnapshot> transaction : postEvent.getTransactions()) {
+                for (Transaction<BlockSnapshot> transaction : transactions) {
                     transaction.setValid(false);
                 }
             }
     
             // Now we can gather the invalid transactions that either were marked as invalid from an event listener - OR - cancelled.
             // Because after, we will restore all the invalid transactions in reverse order.
-            for (Transaction<BlockSnapshot> transaction : postEvent.getTransactions()) {
+            for (Transaction<BlockSnapshot> transaction : transactions) {
                 if (!transaction.isValid()) {
                     invalid.add(transaction);
                     // Cancel any block drops performed, avoids any item drops, regardless
@@ -577,7 +618,127 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
                     }
                 }
             }
-            return performBlockAdditions(postEvent.getTransactions(), state, context, noCancelledTransactions);
+            return performBlockAdditions(transactions, state, context, noCancelledTransactions);
+        }
+    }
+
+    private static Transaction<BlockSnapshot> createTransaction(WorldServer worldServer, SpongeBlockSnapshot original) {
+        final BlockPos blockPos = original.getBlockPos();
+        final IBlockState newState = worldServer.getBlockState(blockPos);
+        final IBlockState newActualState = newState.getActualState(worldServer, blockPos);
+        final BlockSnapshot newSnapshot = ((IMixinWorldServer) worldServer).createSpongeBlockSnapshot(newState, newActualState, blockPos, 0);
+        return new Transaction<>(original, newSnapshot);
+    }
+
+    private static boolean shouldThrowChangeBlockEvent(BlockChange blockChange) {
+        if (!ShouldFire.CHANGE_BLOCK_EVENT) {
+            return false;
+        }
+        final boolean specific;
+        final Class<? extends ChangeBlockEvent> eventClass;
+        switch (blockChange) {
+            case BREAK:
+                specific = ShouldFire.CHANGE_BLOCK_EVENT_BREAK;
+                eventClass = ChangeBlockEvent.Break.class;
+                break;
+            case DECAY:
+                specific = ShouldFire.CHANGE_BLOCK_EVENT_DECAY;
+                eventClass = ChangeBlockEvent.Decay.class;
+                break;
+            case MODIFY:
+                specific = ShouldFire.CHANGE_BLOCK_EVENT_MODIFY;
+                eventClass = ChangeBlockEvent.Modify.class;
+                break;
+            case PLACE:
+                specific = ShouldFire.CHANGE_BLOCK_EVENT_PLACE;
+                eventClass = ChangeBlockEvent.Place.class;
+                break;
+            default:
+                return true;
+        }
+        // The specific flags don't account for listeners of ChangeBlockEvent itself,
+        // which receive every block change event
+        return specific || ((SpongeEventManager) Sponge.getEventManager()).hasListeners(eventClass);
+    }
+
+    private static void throwChangeBlockEvents(TransactionBuffers buffers, List<ChangeBlockEvent> blockEvents, ChangeBlockEvent[] mainEvents) {
+        for (BlockChange blockChange : BLOCK_CHANGES) {
+            if (blockChange == BlockChange.DECAY) { // Decay takes place after.
+                continue;
+            }
+            throwChangeBlockEvent(blockChange, buffers.byChange[blockChange.ordinal()], blockEvents, mainEvents);
+        }
+        throwChangeBlockEvent(BlockChange.DECAY, buffers.byChange[BlockChange.DECAY.ordinal()], blockEvents, mainEvents);
+    }
+
+    private static void throwChangeBlockEvent(BlockChange blockChange, List<Transaction<BlockSnapshot>> transactions,
+            List<ChangeBlockEvent> blockEvents, ChangeBlockEvent[] mainEvents) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        final ChangeBlockEvent event = blockChange.createEvent(Sponge.getCauseStackManager().getCurrentCause(), ImmutableList.copyOf(transactions));
+        mainEvents[blockChange.ordinal()] = event;
+        if (event != null) {
+            SpongeImpl.postEvent(event);
+            blockEvents.add(event);
+        }
+    }
+
+    @Nullable
+    private static ChangeBlockEvent.Post throwPostEvent(List<Transaction<BlockSnapshot>> transactions, ChangeBlockEvent[] mainEvents) {
+        if (!ShouldFire.CHANGE_BLOCK_EVENT
+            || !ShouldFire.CHANGE_BLOCK_EVENT_POST && !((SpongeEventManager) Sponge.getEventManager()).hasListeners(ChangeBlockEvent.Post.class)) {
+            return null;
+        }
+        try (StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            for (ChangeBlockEvent mainEvent : mainEvents) {
+                if (mainEvent != null) {
+                    Sponge.getCauseStackManager().pushCause(mainEvent);
+                }
+            }
+            final ChangeBlockEvent.Post post = SpongeEventFactory.createChangeBlockEventPost(Sponge.getCauseStackManager().getCurrentCause(),
+                ImmutableList.copyOf(transactions));
+            SpongeImpl.postEvent(post);
+            return post;
+        }
+    }
+
+    private static TransactionBuffers acquireTransactionBuffers() {
+        if (transactionBufferDepth == TRANSACTION_BUFFERS.size()) {
+            TRANSACTION_BUFFERS.add(new TransactionBuffers());
+        }
+        return TRANSACTION_BUFFERS.get(transactionBufferDepth++);
+    }
+
+    private static void releaseTransactionBuffers(TransactionBuffers buffers) {
+        buffers.clear();
+        transactionBufferDepth--;
+    }
+
+    /**
+     * Reusable lists that the transactions of captured block changes are sorted
+     * into. Processing captures can cause nested captures to be processed, so
+     * there is one set of buffers per level of nesting.
+     */
+    private static final class TransactionBuffers {
+
+        final List<Transaction<BlockSnapshot>> all = new ArrayList<>();
+        final List<Transaction<BlockSnapshot>>[] byChange;
+        final boolean[] throwsEvent = new boolean[BLOCK_CHANGES.length];
+
+        @SuppressWarnings("unchecked")
+        TransactionBuffers() {
+            this.byChange = new List[BLOCK_CHANGES.length];
+            for (int i = 0; i < this.byChange.length; i++) {
+                this.byChange[i] = new ArrayList<>();
+            }
+        }
+
+        void clear() {
+            this.all.clear();
+            for (List<Transaction<BlockSnapshot>> transactions : this.byChange) {
+                transactions.clear();
+            }
         }
     }
 
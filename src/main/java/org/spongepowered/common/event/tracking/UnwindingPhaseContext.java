@@ -35,25 +35,29 @@
 
 public final class UnwindingPhaseContext extends GeneralPhaseContext<UnwindingPhaseContext> {
 
+    // Nearly every phase completion unwinds, so these are pooled like the contexts of the tick phases
+    private static final PhaseContextPool<UnwindingPhaseContext> POOL = new PhaseContextPool<>("UnwindingPhase", () ->
+            new UnwindingPhaseContext()
+                    .addCaptures()
+                    .addEntityDropCaptures());
+
     @Nullable
     static UnwindingPhaseContext unwind(IPhaseState<?> state, PhaseContext<?> context) {
         if (!state.requiresPost()) {
             return null;
         }
-        return new UnwindingPhaseContext(state, context)
-                .addCaptures()
-                .addEntityDropCaptures()
-                .buildAndSwitch();
+        final UnwindingPhaseContext unwinding = POOL.acquire();
+        unwinding.unwindingState = state;
+        unwinding.unwindingContext = context;
+        return unwinding.buildAndSwitch();
     }
 
     private IPhaseState<?> unwindingState;
 
     private PhaseContext<?> unwindingContext;
 
-    private UnwindingPhaseContext(IPhaseState<?> unwindingState, PhaseContext<?> unwindingContext) {
+    private UnwindingPhaseContext() {
         super(GeneralPhase.Post.UNWINDING);
-        this.unwindingState = unwindingState;
-        this.unwindingContext = unwindingContext;
     }
 
     @Override
@@ -75,6 +79,13 @@ public IPhaseState<?> getUnwindingState() {
         return unwindingState;
     }
 
+    @Override
+    protected void reset() {
+        super.reset();
+        this.unwindingState = null;
+        this.unwindingContext = null;
+    }
+
     @Override
     public PrettyPrinter printCustom(PrettyPrinter printer) {
         return super.printCustom(printer)
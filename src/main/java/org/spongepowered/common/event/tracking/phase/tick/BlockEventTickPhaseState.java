@@ -48,6 +48,7 @@
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
@@ -62,14 +63,17 @@
 
 class BlockEventTickPhaseState extends TickPhaseState<BlockEventTickContext> {
 
+    private final PhaseContextPool<BlockEventTickContext> contextPool = new PhaseContextPool<>("BlockEventTickPhase", () ->
+            new BlockEventTickContext()
+                    .addBlockCaptures()
+                    .addEntityCaptures());
+
     BlockEventTickPhaseState() {
     }
 
     @Override
     public BlockEventTickContext createPhaseContext() {
-        return new BlockEventTickContext()
-                .addBlockCaptures()
-                .addEntityCaptures();
+        return this.contextPool.acquire();
     }
 
     @Override
@@ -55,6 +55,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseContextPool;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
@@ -71,6 +72,9 @@
 
 class EntityTickPhaseState extends TickPhaseState<EntityTickContext> {
 
+    private final PhaseContextPool<EntityTickContext> contextPool =
+            new PhaseContextPool<>("EntityTickPhase", () -> new EntityTickContext().addCaptures());
+
     EntityTickPhaseState() {
     }
     @SuppressWarnings("unchecked")
@@ -305,7 +309,7 @@ and potentially world, which results in a dirty world usage (since the world tra
 
     @Override
     public EntityTickContext createPhaseContext() {
-        return new EntityTickContext().addCaptures();
+        return this.contextPool.acquire();
     }
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
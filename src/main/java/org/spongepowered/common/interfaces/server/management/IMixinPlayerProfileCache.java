@@ -29,4 +29,13 @@ public interface IMixinPlayerProfileCache {
     boolean canSave();
 
     void setCanSave(boolean flag);
+
+    /**
+     * Checks whether a profile is cached for the given username without
+     * copying the username set or triggering a remote lookup.
+     *
+     * @param username The username, case insensitive
+     * @return True if a profile is cached for the username
+     */
+    boolean containsUsername(String username);
 }
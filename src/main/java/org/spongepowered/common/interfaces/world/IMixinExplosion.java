@@ -24,10 +24,44 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
 public interface IMixinExplosion {
 
     void setShouldBreakBlocks(boolean shouldBreakBlocks);
 
     void setShouldDamageEntities(boolean shouldDamageEntities);
 
+    /**
+     * Gets the box that this explosion searches for entities to damage.
+     *
+     * @return The entity search box
+     */
+    AxisAlignedBB getEntitySearchBox();
+
+    /**
+     * Sets a pre-queried list of entities that this explosion will filter
+     * down to its own search box instead of querying the world itself. Used
+     * when several overlapping explosions are evaluated together.
+     *
+     * @param candidates The candidate entities, or null to query the world
+     */
+    void setCandidateEntities(@Nullable List<Entity> candidates);
+
+    /**
+     * Sets the packed positions of blocks already claimed by other explosions
+     * evaluated in the same batch. Claimed blocks are left out of this
+     * explosion before its detonate event is thrown, and the blocks it ends
+     * up affecting are claimed in turn.
+     *
+     * @param claimedBlocks The claimed block positions, or null to claim none
+     */
+    void setClaimedBlocks(@Nullable LongSet claimedBlocks);
+
 }
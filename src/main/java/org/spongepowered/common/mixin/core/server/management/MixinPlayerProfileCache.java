@@ -433,4 +433,9 @@ public boolean canSave() {
     public void setCanSave(boolean flag) {
         this.canSave = flag;
     }
+
+    @Override
+    public boolean containsUsername(String username) {
+        return this.usernameToProfileEntryMap.containsKey(username.toLowerCase(Locale.ROOT));
+    }
 }
@@ -67,7 +67,6 @@
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.SpongeEventFactory;
-import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.util.AABB;
@@ -94,7 +93,6 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.BlockUtil;
 import org.spongepowered.common.entity.PlayerTracker;
-import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseData;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
@@ -507,52 +505,6 @@ public MutableBlockVolumeWorker<Chunk> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
-    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At(value = "RETURN"))
-    public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<Entity> p_177414_4_,
-            CallbackInfo ci) {
-        if (this.world.isRemote || PhaseTracker.getInstance().getCurrentPhaseData().state.ignoresEntityCollisions()) {
-            return;
-        }
-
-        if (listToFill.size() == 0) {
-            return;
-        }
-
-        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.world, entityIn, listToFill);
-        final PhaseData peek = PhaseTracker.getInstance().getCurrentPhaseData();
-
-        if (event == null || event.isCancelled()) {
-            if (event == null && !peek.state.isTicking()) {
-                return;
-            }
-            listToFill.clear();
-        }
-    }
-
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    @Inject(method = "getEntitiesOfTypeWithinAABB", at = @At(value = "RETURN"))
-    public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, AxisAlignedBB aabb, List listToFill, Predicate<Entity> p_177430_4_,
-            CallbackInfo ci) {
-        if (this.world.isRemote || PhaseTracker.getInstance().getCurrentPhaseData().state.ignoresEntityCollisions()) {
-            return;
-        }
-
-        if (listToFill.size() == 0) {
-            return;
-        }
-
-        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.world, null, listToFill);
-        final PhaseData peek = PhaseTracker.getInstance().getCurrentPhaseData();
-
-        if (event == null || event.isCancelled()) {
-            if (event == null && !peek.state.isTicking()) {
-                return;
-            }
-            listToFill.clear();
-        }
-    }
-
-
     /**
      * @author blood
      * @reason cause tracking
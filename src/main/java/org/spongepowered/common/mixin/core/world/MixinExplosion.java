@@ -25,7 +25,7 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -36,6 +36,7 @@
 import net.minecraft.init.Blocks;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.util.DamageSource;
+import net.minecraft.util.EntitySelectors;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -64,6 +65,7 @@
 import org.spongepowered.common.event.tracking.PhaseData;
 import org.spongepowered.common.interfaces.world.IMixinExplosion;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
+import org.spongepowered.common.world.explosion.ExplosionRayMarcher;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -71,7 +73,6 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -82,6 +83,8 @@ public abstract class MixinExplosion implements Explosion, IMixinExplosion {
     public Vec3d position; // Added for Forge
     private boolean shouldBreakBlocks;
     private boolean shouldDamageEntities;
+    @Nullable private List<Entity> candidateEntities;
+    @Nullable private LongSet claimedBlocks;
 //    private Cause createdCause;
 
     @Shadow @Final private List<BlockPos> affectedBlockPositions;
@@ -170,65 +173,32 @@ public void doExplosionA() {
         // Sponge Start - If the explosion should not break blocks, don't bother calculating it
         if (this.shouldBreakBlocks) {
             // Sponge End
-            Set<BlockPos> set = Sets.<BlockPos>newHashSet();
-            int i = 16;
-
-            for (int j = 0; j < 16; ++j) {
-                for (int k = 0; k < 16; ++k) {
-                    for (int l = 0; l < 16; ++l) {
-                        if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
-                            double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
-                            double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
-                            double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
-                            double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
-                            d0 = d0 / d3;
-                            d1 = d1 / d3;
-                            d2 = d2 / d3;
-                            float f = this.size * (0.7F + this.world.rand.nextFloat() * 0.6F);
-                            double d4 = this.x;
-                            double d6 = this.y;
-                            double d8 = this.z;
-
-                            for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-                                BlockPos blockpos = new BlockPos(d4, d6, d8);
-                                IBlockState iblockstate = this.world.getBlockState(blockpos);
-
-                                if (iblockstate.getMaterial() != Material.AIR) {
-                                    float f2 = this.exploder != null
-                                               ? this.exploder.getExplosionResistance((net.minecraft.world.Explosion) (Object) this
-                                            , this.world, blockpos, iblockstate)
-                                               : iblockstate.getBlock().getExplosionResistance((Entity) null);
-                                    f -= (f2 + 0.3F) * 0.3F;
-                                }
-
-                                if (f > 0.0F && (this.exploder == null || this.exploder
-                                        .canExplosionDestroyBlock((net.minecraft.world.Explosion) (Object) this, this.world, blockpos, iblockstate, f))) {
-                                    set.add(blockpos);
-                                }
-
-                                d4 += d0 * 0.30000001192092896D;
-                                d6 += d1 * 0.30000001192092896D;
-                                d8 += d2 * 0.30000001192092896D;
-                            }
-                        }
-                    }
-                }
+            ExplosionRayMarcher.collectAffectedBlocks((net.minecraft.world.Explosion) (Object) this, this.world, this.exploder,
+                    this.x, this.y, this.z, this.size, this.affectedBlockPositions);
+            if (this.claimedBlocks != null) {
+                // Blocks already claimed by an earlier explosion of the batch are not ours to destroy
+                final LongSet claimed = this.claimedBlocks;
+                this.affectedBlockPositions.removeIf(pos -> claimed.contains(pos.toLong()));
             }
-
-            this.affectedBlockPositions.addAll(set);
         } // Sponge - Finish if statement
         float f3 = this.size * 2.0F;
-        int k1 = MathHelper.floor(this.x - (double) f3 - 1.0D);
-        int l1 = MathHelper.floor(this.x + (double) f3 + 1.0D);
-        int i2 = MathHelper.floor(this.y - (double) f3 - 1.0D);
-        int i1 = MathHelper.floor(this.y + (double) f3 + 1.0D);
-        int j2 = MathHelper.floor(this.z - (double) f3 - 1.0D);
-        int j1 = MathHelper.floor(this.z + (double) f3 + 1.0D);
 
         // Sponge Start - Check if this explosion should damage entities
-        List<Entity> list = this.shouldDamageEntities
-                            ? this.world.getEntitiesWithinAABBExcludingEntity(this.exploder, new AxisAlignedBB((double) k1, (double) i2, (double) j2, (double) l1, (double) i1, (double) j1))
-                            : Collections.emptyList();
+        final List<Entity> list;
+        if (!this.shouldDamageEntities) {
+            list = Collections.emptyList();
+        } else if (this.candidateEntities != null) {
+            // Filter the entities queried for the whole explosion batch down to our own box
+            final AxisAlignedBB searchBox = getEntitySearchBox();
+            list = new ArrayList<>();
+            for (Entity entity : this.candidateEntities) {
+                if (entity != this.exploder && EntitySelectors.NOT_SPECTATING.apply(entity) && entity.getEntityBoundingBox().intersects(searchBox)) {
+                    list.add(entity);
+                }
+            }
+        } else {
+            list = this.world.getEntitiesWithinAABBExcludingEntity(this.exploder, getEntitySearchBox());
+        }
         // Now we can throw our Detonate Event
         final List<Location<World>> blockPositions = new ArrayList<>(this.affectedBlockPositions.size());
         final List<org.spongepowered.api.entity.Entity> entities = new ArrayList<>(list.size());
@@ -247,7 +217,10 @@ public void doExplosionA() {
         this.affectedBlockPositions.clear();
         if (this.shouldBreakBlocks) {
             for (Location<World> worldLocation : detonate.getAffectedLocations()) {
-                this.affectedBlockPositions.add(((IMixinLocation) (Object) worldLocation).getBlockPos());
+                final BlockPos pos = ((IMixinLocation) (Object) worldLocation).getBlockPos();
+                if (this.claimedBlocks == null || this.claimedBlocks.add(pos.toLong())) {
+                    this.affectedBlockPositions.add(pos);
+                }
             }
         }
         list.clear();
@@ -472,4 +445,26 @@ public void setShouldBreakBlocks(boolean shouldBreakBlocks) {
     public void setShouldDamageEntities(boolean shouldDamageEntities) {
         this.shouldDamageEntities = shouldDamageEntities;
     }
+
+    @Override
+    public AxisAlignedBB getEntitySearchBox() {
+        float f3 = this.size * 2.0F;
+        int k1 = MathHelper.floor(this.x - (double) f3 - 1.0D);
+        int l1 = MathHelper.floor(this.x + (double) f3 + 1.0D);
+        int i2 = MathHelper.floor(this.y - (double) f3 - 1.0D);
+        int i1 = MathHelper.floor(this.y + (double) f3 + 1.0D);
+        int j2 = MathHelper.floor(this.z - (double) f3 - 1.0D);
+        int j1 = MathHelper.floor(this.z + (double) f3 + 1.0D);
+        return new AxisAlignedBB((double) k1, (double) i2, (double) j2, (double) l1, (double) i1, (double) j1);
+    }
+
+    @Override
+    public void setCandidateEntities(@Nullable List<Entity> candidates) {
+        this.candidateEntities = candidates;
+    }
+
+    @Override
+    public void setClaimedBlocks(@Nullable LongSet claimedBlocks) {
+        this.claimedBlocks = claimedBlocks;
+    }
 }
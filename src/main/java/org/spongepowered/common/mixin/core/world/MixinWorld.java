@@ -90,6 +90,7 @@
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.projectile.EnderPearl;
 import org.spongepowered.api.entity.projectile.source.ProjectileSource;
+import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.chat.ChatType;
@@ -126,7 +127,11 @@
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
 import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseData;
+import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
@@ -1078,6 +1083,42 @@ public List<net.minecraft.entity.Entity> filterInvisibile(net.minecraft.world.Wo
         return entities;
     }
 
+    // Collision events are thrown once per query over the merged result of
+    // all chunks, rather than once per chunk with the partially filled list
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("RETURN"))
+    private void onGetEntitiesInAABBExcluding(@Nullable net.minecraft.entity.Entity entityIn, AxisAlignedBB boundingBox,
+            @Nullable com.google.common.base.Predicate<? super net.minecraft.entity.Entity> predicate,
+            CallbackInfoReturnable<List<net.minecraft.entity.Entity>> cir) {
+        throwCollideEntityEvent(entityIn, cir.getReturnValue());
+    }
+
+    @Inject(method = "getEntitiesWithinAABB(Ljava/lang/Class;Lnet/minecraft/util/math/AxisAlignedBB;Lcom/google/common/base/Predicate;)Ljava/util/List;",
+            at = @At("RETURN"))
+    private void onGetEntitiesWithinAABB(Class<? extends net.minecraft.entity.Entity> clazz, AxisAlignedBB aabb,
+            @Nullable com.google.common.base.Predicate<? super net.minecraft.entity.Entity> filter,
+            CallbackInfoReturnable<List<net.minecraft.entity.Entity>> cir) {
+        throwCollideEntityEvent(null, cir.getReturnValue());
+    }
+
+    private void throwCollideEntityEvent(@Nullable net.minecraft.entity.Entity sourceEntity, List<net.minecraft.entity.Entity> entities) {
+        if (this.isRemote || !ShouldFire.COLLIDE_ENTITY_EVENT || entities.isEmpty()) {
+            return;
+        }
+        final PhaseData peek = PhaseTracker.getInstance().getCurrentPhaseData();
+        if (peek.state.ignoresEntityCollisions()) {
+            return;
+        }
+
+        final CollideEntityEvent event =
+                SpongeCommonEventFactory.callCollideEntityEvent((net.minecraft.world.World) (Object) this, sourceEntity, entities);
+        if (event == null || event.isCancelled()) {
+            if (event == null && !peek.state.isTicking()) {
+                return;
+            }
+            entities.clear();
+        }
+    }
+
     @Redirect(method = "getClosestPlayer(DDDDLcom/google/common/base/Predicate;)Lnet/minecraft/entity/player/EntityPlayer;", at = @At(value = "INVOKE", target = "Lcom/google/common/base/Predicate;apply(Ljava/lang/Object;)Z", remap = false))
     private boolean onGetClosestPlayerCheck(com.google.common.base.Predicate<net.minecraft.entity.Entity> predicate, Object entityPlayer) {
         EntityPlayer player = (EntityPlayer) entityPlayer;
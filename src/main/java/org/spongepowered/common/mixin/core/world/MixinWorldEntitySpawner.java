@@ -30,11 +30,8 @@
 import net.minecraft.entity.EntitySpawnPlacementRegistry;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.entity.IEntityLivingData;
-import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.WeightedRandom;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldEntitySpawner;
@@ -59,11 +56,11 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
-import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.SpawnerSpawnType;
+import org.spongepowered.common.world.SpawnChunkTracker;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -84,6 +81,7 @@ public abstract class MixinWorldEntitySpawner {
     @Nullable
     private static EntityType spawnerEntityType;
     private List<Chunk> eligibleSpawnChunks = new ArrayList<>();
+    private final SpawnChunkTracker spawnChunkTracker = new SpawnChunkTracker();
 
     /**
      * @author blood - February 18th, 2017
@@ -114,7 +112,6 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
             IMixinWorldServer spongeWorld = ((IMixinWorldServer) worldServerIn);
             spongeWorld.getTimingsHandler().mobSpawn.startTiming();
 
-            int chunkSpawnCandidates = 0;
             final int mobSpawnRange = Math.min(((IMixinWorldServer) worldServerIn).getActiveConfig().getConfig().getWorld().getMobSpawnRange(),
                 SpongeImpl.getServer().getPlayerList().getViewDistance());
             // Vanilla uses a div count of 289 (17x17) which assumes the view distance is 8.
@@ -122,41 +119,15 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
             // mob spawn range set by server.
             final int MOB_SPAWN_COUNT_DIV = (2 * mobSpawnRange + 1) * (2 * mobSpawnRange + 1);
 
-            for (EntityPlayer entityplayer : worldServerIn.playerEntities) {
-                // We treat players who do not affect spawning as "spectators"
-                if (!((IMixinEntityPlayer) entityplayer).affectsSpawning() || entityplayer.isSpectator()) {
-                    continue;
-                }
-
-                int playerPosX = MathHelper.floor(entityplayer.posX / 16.0D);
-                int playerPosZ = MathHelper.floor(entityplayer.posZ / 16.0D);
-
-                for (int i = -mobSpawnRange; i <= mobSpawnRange; ++i) {
-                    for (int j = -mobSpawnRange; j <= mobSpawnRange; ++j) {
-                        boolean flag = i == -mobSpawnRange || i == mobSpawnRange || j == -mobSpawnRange || j == mobSpawnRange;
-                        final Chunk
-                            chunk =
-                            ((IMixinChunkProviderServer) worldServerIn.getChunkProvider())
-                                .getLoadedChunkWithoutMarkingActive(i + playerPosX, j + playerPosZ);
-                        if (chunk == null || (chunk.unloadQueued && !((IMixinChunk) chunk).isPersistedChunk())) {
-                            // Don't attempt to spawn in an unloaded chunk
-                            continue;
-                        }
-
-                        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
-                        ++chunkSpawnCandidates;
-                        final ChunkPos chunkPos = chunk.getPos();
-                        if (!flag && worldServerIn.getWorldBorder().contains(chunkPos)) {
-                            PlayerChunkMapEntry playerchunkmapentry = worldServerIn.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
-
-                            if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers() && !spongeChunk.isSpawning()) {
-                                this.eligibleSpawnChunks.add(chunk);
-                                spongeChunk.setIsSpawning(true);
-                            }
-                        }
-                    }
-                }
+            // Sponge - Only walk the deduplicated chunks around players, which are tracked as players move
+            this.spawnChunkTracker.updatePlayers(worldServerIn, mobSpawnRange);
+            this.spawnChunkTracker.collectEligibleChunks(worldServerIn, this.eligibleSpawnChunks);
+            for (Chunk chunk : this.eligibleSpawnChunks) {
+                ((IMixinChunk) chunk).setIsSpawning(true);
             }
+            final int chunkSpawnCandidates = this.spawnChunkTracker.getCandidateCount();
+            spongeWorld.getTimingsHandler().mobSpawnChunkCandidates = chunkSpawnCandidates;
+            spongeWorld.getTimingsHandler().mobSpawnChunksSkipped = this.spawnChunkTracker.getSkippedCount();
 
             // If there are no eligible chunks, return early
             if (this.eligibleSpawnChunks.size() == 0) {
@@ -34,6 +34,8 @@
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.BlockPistonBase;
@@ -41,6 +43,7 @@
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.effect.EntityLightningBolt;
+import net.minecraft.entity.item.EntityTNTPrimed;
 import net.minecraft.entity.passive.EntitySkeletonHorse;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -94,6 +97,7 @@
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.persistence.DataFormats;
 import org.spongepowered.api.effect.sound.record.RecordType;
 import org.spongepowered.api.effect.particle.ParticleEffect;
@@ -103,6 +107,7 @@
 import org.spongepowered.api.entity.EntityTypes;
 import org.spongepowered.api.entity.Transform;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.CauseStackManager.StackFrame;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -174,6 +179,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMap;
 import org.spongepowered.common.interfaces.util.math.IMixinBlockPos;
+import org.spongepowered.common.interfaces.world.IMixinExplosion;
 import org.spongepowered.common.interfaces.world.IMixinServerWorldEventHandler;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
@@ -185,8 +191,10 @@
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.PendingTickListEntrySet;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
+import org.spongepowered.common.world.explosion.ExplosionBatcher;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeGenerationPopulator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
@@ -198,8 +206,10 @@
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -237,9 +247,13 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private boolean weatherIceAndSnowEnabled = true;
     private int dimensionId;
     private IMixinChunkProviderServer mixinChunkProviderServer;
+    private final List<Explosion> pendingExplosions = new ArrayList<>();
+    private final Map<Explosion, User> pendingExplosionOwners = new IdentityHashMap<>();
+    private final Map<Explosion, User> pendingExplosionNotifiers = new IdentityHashMap<>();
+    private boolean flushingExplosions;
 
     @Shadow @Final private MinecraftServer mcServer;
-    @Shadow @Final private Set<NextTickListEntry> pendingTickListEntriesHashSet;
+    @Shadow @Final @Mutable private Set<NextTickListEntry> pendingTickListEntriesHashSet = new PendingTickListEntrySet();
     @Shadow @Final private TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet;
     @Shadow @Final private PlayerChunkMap playerChunkMap;
     @Shadow @Final @Mutable private Teleporter worldTeleporter;
@@ -797,6 +811,7 @@ public void updateEntities() {
         TrackingUtil.tickWorldProvider(this);
         // Sponge end
         super.updateEntities();
+        this.flushPendingExplosions(); // Sponge - Evaluate the explosions batched during the entity tick
     }
 
     @Redirect(method = "updateBlockTick", at = @At(value = "INVOKE", target="Lnet/minecraft/block/Block;updateTick(Lnet/minecraft/world/World;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/state/IBlockState;Ljava/util/Random;)V"))
@@ -973,12 +988,13 @@ private int onGetDimensionIdForBlockEvents(DimensionType dimensionType) {
 
     @Override
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        BlockPos position = new BlockPos(x, y, z);
+        final List<NextTickListEntry> entries = ((PendingTickListEntrySet) this.pendingTickListEntriesHashSet).getEntriesAt(new BlockPos(x, y, z).toLong());
+        if (entries.isEmpty()) {
+            return ImmutableList.of();
+        }
         ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
-            if (sbu.position.equals(position)) {
-                builder.add((ScheduledBlockUpdate) sbu);
-            }
+        for (NextTickListEntry sbu : entries) {
+            builder.add((ScheduledBlockUpdate) sbu);
         }
         return builder.build();
     }
@@ -1543,38 +1559,42 @@ private boolean forceSpawnEntity(net.minecraft.entity.Entity entity, int chunkX,
 
     @Override
     public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag) {
-        this.builder.reset();
-        this.builder.blockState((BlockState) state)
-                .extendedState((BlockState) extended)
-                .worldId(this.getUniqueId())
-                .position(VecHelper.toVector3i(pos));
-        Optional<UUID> creator = getCreator(pos.getX(), pos.getY(), pos.getZ());
-        Optional<UUID> notifier = getNotifier(pos.getX(), pos.getY(), pos.getZ());
-        if (creator.isPresent()) {
-            this.builder.creator(creator.get());
-        }
-        if (notifier.isPresent()) {
-            this.builder.notifier(notifier.get());
+        // Sponge - Snapshots are created for every captured block change, so skip the builder and its copies,
+        // and look up the chunk only once for both the creator and the notifier
+        @Nullable UUID creator = null;
+        @Nullable UUID notifier = null;
+        final Chunk chunk = this.mixinChunkProviderServer.getLoadedChunkWithoutMarkingActive(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunk != null) {
+            creator = ((IMixinChunk) chunk).getBlockOwnerUUID(pos).orElse(null);
+            notifier = ((IMixinChunk) chunk).getBlockNotifierUUID(pos).orElse(null);
         }
+        List<ImmutableDataManipulator<?, ?>> tileData = Collections.emptyList();
+        @Nullable NBTTagCompound nbt = null;
+        // The tile entity is written right away, as it is usually broken or emptied right after being captured
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
             if (te != null) {
                 TileEntity tile = (TileEntity) te;
-                for (DataManipulator<?, ?> manipulator : ((IMixinCustomDataHolder) tile).getCustomManipulators()) {
-                    this.builder.add(manipulator);
+                final List<DataManipulator<?, ?>> manipulators = ((IMixinCustomDataHolder) tile).getCustomManipulators();
+                if (!manipulators.isEmpty()) {
+                    tileData = new ArrayList<>(manipulators.size());
+                    for (DataManipulator<?, ?> manipulator : manipulators) {
+                        tileData.add(manipulator.asImmutable());
+                    }
                 }
-                NBTTagCompound nbt = new NBTTagCompound();
+                final NBTTagCompound compound = new NBTTagCompound();
                 // Some mods like OpenComputers assert if attempting to save robot while moving
                 try {
-                    te.writeToNBT(nbt);
-                    this.builder.unsafeNbt(nbt);
+                    te.writeToNBT(compound);
+                    nbt = compound;
                 }
                 catch(Throwable t) {
                     // ignore
                 }
             }
         }
-        return new SpongeBlockSnapshot(this.builder, BlockChangeFlag.ALL.setUpdateNeighbors((updateFlag & 1) != 0), updateFlag);
+        return new SpongeBlockSnapshot((BlockState) state, (BlockState) extended, this.getUniqueId(), pos, creator, notifier, tileData, nbt,
+            BlockChangeFlag.ALL.setUpdateNeighbors((updateFlag & 1) != 0), updateFlag);
     }
 
     /**
@@ -1600,6 +1620,19 @@ public Explosion newExplosion(@Nullable net.minecraft.entity.Entity entityIn, do
             boolean isSmoking) {
         Explosion explosion = new Explosion((WorldServer) (Object) this, entityIn, x, y, z, strength, isFlaming, isSmoking);
 
+        // Sponge Start - Defer primed tnt to be evaluated together with overlapping explosions after the entity tick
+        if (entityIn instanceof EntityTNTPrimed && !this.flushingExplosions
+            && PhaseTracker.getInstance().getCurrentState() == TickPhase.Tick.ENTITY
+            && this.getActiveConfig().getConfig().getWorld().useExplosionBatching()) {
+            this.pendingExplosions.add(explosion);
+            // The entity's tick frame, which holds its owner and notifier, is closed by the time the batch is evaluated
+            final IMixinEntity mixinEntity = EntityUtil.toMixin(entityIn);
+            mixinEntity.getCreatorUser().ifPresent(owner -> this.pendingExplosionOwners.put(explosion, owner));
+            mixinEntity.getNotifierUser().ifPresent(notifier -> this.pendingExplosionNotifiers.put(explosion, notifier));
+            return explosion;
+        }
+        // Sponge End
+
         // Sponge Start - Cause tracking
         try (final ExplosionContext context = GeneralPhase.State.EXPLOSION.createPhaseContext()
                 .potentialExplosionSource((WorldServer) (Object) this, entityIn)
@@ -1641,6 +1674,116 @@ public Explosion newExplosion(@Nullable net.minecraft.entity.Entity entityIn, do
         } // Sponge - brackets
     }
 
+    private void flushPendingExplosions() {
+        if (this.pendingExplosions.isEmpty()) {
+            return;
+        }
+        this.timings.explosionBatch.startTiming();
+        this.flushingExplosions = true;
+        try {
+            final List<Explosion> explosions = new ArrayList<>(this.pendingExplosions);
+            this.pendingExplosions.clear();
+            for (List<Explosion> group : ExplosionBatcher.groupOverlapping(explosions)) {
+                this.evaluateExplosionGroup(group);
+            }
+        } finally {
+            this.pendingExplosionOwners.clear();
+            this.pendingExplosionNotifiers.clear();
+            this.flushingExplosions = false;
+            this.timings.explosionBatch.stopTiming();
+        }
+    }
+
+    private void addExplosionCreatorContext(StackFrame frame, @Nullable User owner, @Nullable User notifier) {
+        if (owner != null) {
+            frame.addContext(EventContextKeys.OWNER, owner);
+        }
+        if (notifier != null) {
+            frame.addContext(EventContextKeys.NOTIFIER, notifier);
+        }
+    }
+
+    /**
+     * Evaluates a group of overlapping explosions together. Every explosion
+     * is detonated against the world as it was before the group, sharing one
+     * entity query, and each block is only destroyed by the first explosion
+     * to affect it. Blocks claimed by an earlier explosion are removed before
+     * the detonate event of a later one, so every detonate event lists exactly
+     * the blocks its explosion will destroy. Plugins still receive the pre and
+     * detonate events of every explosion, within that explosion's own phase.
+     */
+    private void evaluateExplosionGroup(List<Explosion> group) {
+        List<net.minecraft.entity.Entity> candidates = null;
+        final LongSet claimed = new LongOpenHashSet();
+        final List<Explosion> detonated = new ArrayList<>(group.size());
+        for (Explosion explosion : group) {
+            final User owner = this.pendingExplosionOwners.get(explosion);
+            final User notifier = this.pendingExplosionNotifiers.get(explosion);
+            try (final ExplosionContext context = GeneralPhase.State.EXPLOSION.createPhaseContext()
+                    .potentialExplosionSource((WorldServer) (Object) this, explosion.exploder)
+                    .explosion(explosion)
+                    .owner(() -> Optional.ofNullable(owner))
+                    .notifier(() -> Optional.ofNullable(notifier))
+                    .buildAndSwitch();
+                 final StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                frame.pushCause(explosion.exploder);
+                this.addExplosionCreatorContext(frame, owner, notifier);
+                this.processingExplosion = true;
+                final ExplosionEvent.Pre event = SpongeEventFactory.createExplosionEventPre(Sponge.getCauseStackManager().getCurrentCause(),
+                    (org.spongepowered.api.world.explosion.Explosion) explosion, this);
+                if (!SpongeImpl.postEvent(event)) {
+                    if (candidates == null) {
+                        // Query within the explosion phase, the same as an explosion querying for itself
+                        candidates = this.getEntitiesWithinAABBExcludingEntity(null, ExplosionBatcher.getCombinedSearchBox(group));
+                    }
+                    ((IMixinExplosion) explosion).setCandidateEntities(candidates);
+                    ((IMixinExplosion) explosion).setClaimedBlocks(claimed);
+                    try {
+                        explosion.doExplosionA();
+                    } finally {
+                        ((IMixinExplosion) explosion).setCandidateEntities(null);
+                        ((IMixinExplosion) explosion).setClaimedBlocks(null);
+                    }
+                    detonated.add(explosion);
+                }
+                this.processingExplosion = false;
+            }
+        }
+
+        for (Explosion explosion : detonated) {
+            final boolean breaksBlocks = ((org.spongepowered.api.world.explosion.Explosion) explosion).shouldBreakBlocks();
+            final User owner = this.pendingExplosionOwners.get(explosion);
+            final User notifier = this.pendingExplosionNotifiers.get(explosion);
+            try (final ExplosionContext context = GeneralPhase.State.EXPLOSION.createPhaseContext()
+                    .potentialExplosionSource((WorldServer) (Object) this, explosion.exploder)
+                    .explosion(explosion)
+                    .owner(() -> Optional.ofNullable(owner))
+                    .notifier(() -> Optional.ofNullable(notifier))
+                    .buildAndSwitch();
+                 final StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                frame.pushCause(explosion.exploder);
+                this.addExplosionCreatorContext(frame, owner, notifier);
+                this.processingExplosion = true;
+                explosion.doExplosionB(false);
+
+                if (!breaksBlocks) {
+                    explosion.clearAffectedBlockPositions();
+                }
+
+                final Vector3d position = ((org.spongepowered.api.world.explosion.Explosion) explosion).getLocation().getPosition();
+                final float strength = ((org.spongepowered.api.world.explosion.Explosion) explosion).getRadius();
+                for (EntityPlayer entityplayer : this.playerEntities) {
+                    if (entityplayer.getDistanceSq(position.getX(), position.getY(), position.getZ()) < 4096.0D) {
+                        ((EntityPlayerMP) entityplayer).connection
+                            .sendPacket(new SPacketExplosion(position.getX(), position.getY(), position.getZ(), strength,
+                                explosion.getAffectedBlockPositions(), explosion.getPlayerKnockbackMap().get(entityplayer)));
+                    }
+                }
+                this.processingExplosion = false;
+            }
+        }
+    }
+
     /**
      * @author gabizou - August 4th, 2016
      * @author blood - May 11th, 2017 - Forces chunk requests if TE is ticking.
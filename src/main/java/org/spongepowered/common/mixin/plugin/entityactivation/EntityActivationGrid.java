@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A per tick index of the players of a world, bucketed by chunk.
+ *
+ * <p>Instead of sweeping the chunks around every player and testing each
+ * entity once per player, every chunk in range of at least one player is
+ * visited once and each of its entities is tested against the players
+ * near that chunk only, stopping at the first player in range.</p>
+ *
+ * <p>A grid is read only once built, so chunks may be activated from
+ * several threads as long as each thread passes its own scratch list.</p>
+ */
+public final class EntityActivationGrid {
+
+    private final Long2ObjectMap<List<EntityPlayer>> playersByChunk = new Long2ObjectOpenHashMap<>();
+    private final LongSet candidateChunks = new LongOpenHashSet();
+    private final int maxRange;
+    private final int cellRadius;
+
+    public EntityActivationGrid(List<EntityPlayer> players, int maxRange) {
+        this.maxRange = maxRange;
+        // Players are bucketed by the chunk of their position, their bounding box may poke out of it
+        this.cellRadius = (maxRange >> 4) + 1;
+        for (EntityPlayer player : players) {
+            final long key = ChunkPos.asLong(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4);
+            List<EntityPlayer> cell = this.playersByChunk.get(key);
+            if (cell == null) {
+                cell = new ArrayList<>(4);
+                this.playersByChunk.put(key, cell);
+            }
+            cell.add(player);
+
+            final AxisAlignedBB bb = player.getEntityBoundingBox();
+            final int minChunkX = MathHelper.floor((bb.minX - maxRange) / 16.0D);
+            final int maxChunkX = MathHelper.floor((bb.maxX + maxRange) / 16.0D);
+            final int minChunkZ = MathHelper.floor((bb.minZ - maxRange) / 16.0D);
+            final int maxChunkZ = MathHelper.floor((bb.maxZ + maxRange) / 16.0D);
+            for (int x = minChunkX; x <= maxChunkX; x++) {
+                for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                    this.candidateChunks.add(ChunkPos.asLong(x, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the chunks within the maximum activation range of any player,
+     * each chunk appearing once.
+     *
+     * @return The candidate chunk keys
+     */
+    public LongSet getCandidateChunks() {
+        return this.candidateChunks;
+    }
+
+    /**
+     * Checks for the activation state of all entities in this chunk.
+     *
+     * @param chunk The chunk to check for activation
+     * @param currentTick The current tick
+     * @param nearby A scratch list owned by the calling thread
+     */
+    public void activateChunkEntities(Chunk chunk, long currentTick, List<EntityPlayer> nearby) {
+        nearby.clear();
+        this.collectNearbyPlayers(chunk, nearby);
+        if (nearby.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
+            for (Entity entity : chunk.getEntityLists()[i]) {
+                if (!EntityActivationRange.requiresRangeCheck(entity, currentTick)) {
+                    continue;
+                }
+                final int range = ((IModData_Activation) entity).getActivationRange();
+                if (isInRange(entity.getEntityBoundingBox(), nearby, range)) {
+                    ((IModData_Activation) entity).setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    private void collectNearbyPlayers(Chunk chunk, List<EntityPlayer> nearby) {
+        final double minX = (chunk.x << 4) - this.maxRange;
+        final double maxX = (chunk.x << 4) + 16 + this.maxRange;
+        final double minZ = (chunk.z << 4) - this.maxRange;
+        final double maxZ = (chunk.z << 4) + 16 + this.maxRange;
+        for (int x = chunk.x - this.cellRadius; x <= chunk.x + this.cellRadius; x++) {
+            for (int z = chunk.z - this.cellRadius; z <= chunk.z + this.cellRadius; z++) {
+                final List<EntityPlayer> cell = this.playersByChunk.get(ChunkPos.asLong(x, z));
+                if (cell == null) {
+                    continue;
+                }
+                for (EntityPlayer player : cell) {
+                    final AxisAlignedBB bb = player.getEntityBoundingBox();
+                    if (bb.maxX > minX && bb.minX < maxX && bb.maxZ > minZ && bb.minZ < maxZ) {
+                        nearby.add(player);
+                    }
+                }
+            }
+        }
+    }
+
+    static boolean isInRange(AxisAlignedBB entityBB, List<EntityPlayer> players, int range) {
+        for (int i = 0, size = players.size(); i < size; i++) {
+            if (isInRange(entityBB, players.get(i).getEntityBoundingBox(), range)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same test as growing the player's bounding box by the activation
+     * range and intersecting it with the entity's, without touching any
+     * shared bounding box.
+     */
+    static boolean isInRange(AxisAlignedBB entityBB, AxisAlignedBB playerBB, int range) {
+        return playerBB.minX - range < entityBB.maxX && playerBB.maxX + range > entityBB.minX
+                && playerBB.minY - 256 < entityBB.maxY && playerBB.maxY + 256 > entityBB.minY
+                && playerBB.minZ - range < entityBB.maxZ && playerBB.maxZ + range > entityBB.minZ;
+    }
+}
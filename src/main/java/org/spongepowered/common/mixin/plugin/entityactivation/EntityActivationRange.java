@@ -26,8 +26,10 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.SpongeTimings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -72,7 +74,19 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nullable;
 
 public class EntityActivationRange {
 
@@ -84,14 +98,12 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
+    // Written while entities initialize their activation state, which may happen on activation threads
+    static Map<Byte, Integer> maxActivationRanges = Maps.newConcurrentMap();
+    // Worlds already activated for this tick by the parallel pass
+    private static final Set<World> preActivatedWorlds = Collections.newSetFromMap(new IdentityHashMap<>());
+    @Nullable private static ForkJoinPool activationPool;
+    private static final Comparator<Chunk> CHUNK_STRIPE_ORDER = (a, b) -> a.x != b.x ? Integer.compare(a.x, b.x) : Integer.compare(a.z, b.z);
 
     /**
      * Initializes an entities type on construction to specify what group this
@@ -191,25 +203,6 @@ public static boolean initializeEntityActivationState(Entity entity) {
         return false;
     }
 
-    /**
-     * Utility method to grow an AABB without creating a new AABB or touching
-     * the pool, so we can re-use ones we have.
-     *
-     * @param target The AABB to modify
-     * @param source The AABB to get initial coordinates from
-     * @param x The x value to expand by
-     * @param y The y value to expand by
-     * @param z The z value to expand by
-     */
-    public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int y, int z) {
-        target.minX = source.minX - x;
-        target.minY = source.minY - y;
-        target.minZ = source.minZ - z;
-        target.maxX = source.maxX + x;
-        target.maxY = source.maxY + y;
-        target.maxZ = source.maxZ + z;
-    }
-
     /**
      * Find what entities are in range of the players in the world and set
      * active if in range.
@@ -217,32 +210,47 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        if (((IMixinWorld) world).isFake()) {
+        if (((IMixinWorld) world).isFake() || preActivatedWorlds.remove(world)) {
             return;
         }
 
-        for (EntityPlayer player : world.playerEntities) {
+        final EntityActivationRangeCategory config = ((IMixinWorldServer) world).getActiveConfig().getConfig().getEntityActivationRange();
+        if (config.useSpatialIndex()) {
+            SpongeTimings.entityActivationGridTimer.startTiming();
+            activateEntitiesWithGrid((WorldServer) world);
+            SpongeTimings.entityActivationGridTimer.stopTiming();
+        } else {
+            SpongeTimings.entityActivationCheckTimer.startTiming();
+            activateEntitiesPerPlayer((WorldServer) world);
+            SpongeTimings.entityActivationCheckTimer.stopTiming();
+        }
+    }
 
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+    private static int getMaxActivationRange() {
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+
+        return Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
+    }
 
-            maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
+    private static void activateEntitiesPerPlayer(WorldServer world) {
+        final int maxRange = getMaxActivationRange();
+        for (EntityPlayer player : world.playerEntities) {
             ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
+            final AxisAlignedBB playerBB = player.getEntityBoundingBox();
 
-            int i = MathHelper.floor(maxBB.minX / 16.0D);
-            int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor(maxBB.maxZ / 16.0D);
+            int i = MathHelper.floor((playerBB.minX - maxRange) / 16.0D);
+            int j = MathHelper.floor((playerBB.maxX + maxRange) / 16.0D);
+            int k = MathHelper.floor((playerBB.minZ - maxRange) / 16.0D);
+            int l = MathHelper.floor((playerBB.maxZ + maxRange) / 16.0D);
 
             for (int i1 = i; i1 <= j; ++i1) {
                 for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
+                    Chunk chunk = ((IMixinChunkProviderServer) world.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
                     if (chunk != null) {
                         activateChunkEntities(player, chunk);
                     }
@@ -251,6 +259,181 @@ public static void activateEntities(World world) {
         }
     }
 
+    /**
+     * Visits each chunk in range of a player once, testing each entity
+     * against the players near its chunk only.
+     *
+     * @param world The world to perform activation checks in
+     */
+    private static void activateEntitiesWithGrid(WorldServer world) {
+        final EntityActivationGrid grid = createGrid(world);
+        if (grid == null) {
+            return;
+        }
+
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        final List<EntityPlayer> nearby = new ArrayList<>();
+        for (LongIterator iterator = grid.getCandidateChunks().iterator(); iterator.hasNext(); ) {
+            final long key = iterator.nextLong();
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive((int) key, (int) (key >> 32));
+            if (chunk != null) {
+                grid.activateChunkEntities(chunk, currentTick, nearby);
+            }
+        }
+    }
+
+    @Nullable
+    private static EntityActivationGrid createGrid(WorldServer world) {
+        if (world.playerEntities.isEmpty()) {
+            return null;
+        }
+
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
+        }
+
+        return new EntityActivationGrid(world.playerEntities, getMaxActivationRange());
+    }
+
+    /**
+     * Runs the activation pass of every world ahead of the world ticks on
+     * a fork-join pool, split by world and by stripes of chunks. Chunks of a
+     * stripe are disjoint from other stripes, so each entity is only ever
+     * written by one thread. The calling thread waits for the pass, which
+     * publishes the results before any entity is ticked.
+     *
+     * @param worlds The worlds to activate
+     */
+    public static void activateEntitiesInParallel(WorldServer[] worlds) {
+        final EntityActivationRangeCategory config = SpongeImpl.getGlobalConfig().getConfig().getEntityActivationRange();
+        if (!config.useParallelClassification()) {
+            return;
+        }
+
+        SpongeTimings.entityActivationParallelTimer.startTiming();
+        preActivatedWorlds.clear();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(worlds.length);
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        for (WorldServer world : worlds) {
+            if (((IMixinWorld) world).isFake()) {
+                continue;
+            }
+            preActivatedWorlds.add(world);
+            final EntityActivationGrid grid = createGrid(world);
+            if (grid == null) {
+                continue;
+            }
+
+            final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+            final List<Chunk> chunks = new ArrayList<>(grid.getCandidateChunks().size());
+            for (LongIterator iterator = grid.getCandidateChunks().iterator(); iterator.hasNext(); ) {
+                final long key = iterator.nextLong();
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive((int) key, (int) (key >> 32));
+                if (chunk != null) {
+                    chunks.add(chunk);
+                }
+            }
+            // Stripes of neighbouring chunks share most of their nearby players
+            chunks.sort(CHUNK_STRIPE_ORDER);
+            tasks.add(new ActivateStripeTask(grid, chunks, 0, chunks.size(), currentTick));
+        }
+
+        final ForkJoinPool pool = getActivationPool(config);
+        for (ForkJoinTask<?> task : tasks) {
+            pool.execute(task);
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        SpongeTimings.entityActivationParallelTimer.stopTiming();
+    }
+
+    private static ForkJoinPool getActivationPool(EntityActivationRangeCategory config) {
+        if (activationPool == null) {
+            final int threads = config.getParallelThreads() > 0 ? config.getParallelThreads() : Runtime.getRuntime().availableProcessors();
+            activationPool = new ForkJoinPool(threads, pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Sponge - Entity Activation Thread #" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return activationPool;
+    }
+
+    private static final class ActivateStripeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 4209173925465413291L;
+        private static final int STRIPE_SIZE = 32;
+
+        private final EntityActivationGrid grid;
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final long currentTick;
+
+        ActivateStripeTask(EntityActivationGrid grid, List<Chunk> chunks, int from, int to, long currentTick) {
+            this.grid = grid;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.currentTick = currentTick;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > STRIPE_SIZE) {
+                final int middle = (this.from + this.to) >>> 1;
+                invokeAll(new ActivateStripeTask(this.grid, this.chunks, this.from, middle, this.currentTick),
+                        new ActivateStripeTask(this.grid, this.chunks, middle, this.to, this.currentTick));
+                return;
+            }
+
+            final List<EntityPlayer> nearby = new ArrayList<>();
+            for (int i = this.from; i < this.to; i++) {
+                this.grid.activateChunkEntities(this.chunks.get(i), this.currentTick, nearby);
+            }
+        }
+    }
+
+    /**
+     * Activates the entity if it is always active, otherwise refreshes its
+     * cached activation range.
+     *
+     * @param entity The entity to check
+     * @param currentTick The current tick
+     * @return True if the entity is not active yet and needs a range check
+     */
+    static boolean requiresRangeCheck(Entity entity, long currentTick) {
+        final IModData_Activation spongeEntity = (IModData_Activation) entity;
+        final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        if (type == EntityTypes.UNKNOWN) {
+            spongeEntity.setActivatedTick(currentTick);
+            return false;
+        }
+
+        if (currentTick <= spongeEntity.getActivatedTick()) {
+            return false;
+        }
+
+        if (spongeEntity.getDefaultActivationState()) {
+            spongeEntity.setActivatedTick(currentTick);
+            return false;
+        }
+
+        // check if activation cache needs to be updated
+        if (spongeEntity.requiresActivationCacheRefresh()) {
+            // May populate and save the config, only let one activation thread do so at a time
+            synchronized (EntityActivationRange.class) {
+                EntityActivationRange.initializeEntityActivationState(entity);
+            }
+            spongeEntity.requiresActivationCacheRefresh(false);
+        }
+        return true;
+    }
+
     /**
      * Checks for the activation state of all entities in this chunk.
      *
@@ -261,68 +444,11 @@ private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
-                EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 long currentTick = SpongeImpl.getServer().getTickCounter();
-                if (type == EntityTypes.UNKNOWN) {
+                if (requiresRangeCheck(entity, currentTick)
+                        && EntityActivationGrid.isInRange(entity.getEntityBoundingBox(), player.getEntityBoundingBox(),
+                        ((IModData_Activation) entity).getActivationRange())) {
                     ((IModData_Activation) entity).setActivatedTick(currentTick);
-                    continue;
-                }
-
-                if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
-                    if (((IModData_Activation) entity).getDefaultActivationState()) {
-                        ((IModData_Activation) entity).setActivatedTick(currentTick);
-                        continue;
-                    }
-
-                    IModData_Activation spongeEntity = (IModData_Activation) entity;
-                    // check if activation cache needs to be updated
-                    if (spongeEntity.requiresActivationCacheRefresh()) {
-                        EntityActivationRange.initializeEntityActivationState(entity);
-                        spongeEntity.requiresActivationCacheRefresh(false);
-                    }
-                    // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
-
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                    }
                 }
             }
         }
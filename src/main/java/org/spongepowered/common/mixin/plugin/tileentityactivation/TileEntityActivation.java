@@ -26,6 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.SpongeTimings;
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.server.management.PlayerChunkMap;
@@ -126,6 +127,19 @@ public static boolean initializeTileEntityActivationState(TileEntity tileEntity)
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(WorldServer world) {
+        final TileEntityActivationCategory config = ((IMixinWorldServer) world).getActiveConfig().getConfig().getTileEntityActivationRange();
+        if (config.useSpatialIndex()) {
+            SpongeTimings.tileEntityActivationIndexTimer.startTiming();
+            activateTileEntitiesWithIndex(world);
+            SpongeTimings.tileEntityActivationIndexTimer.stopTiming();
+        } else {
+            SpongeTimings.tileEntityActivationCheckTimer.startTiming();
+            activateTileEntitiesPerPlayer(world);
+            SpongeTimings.tileEntityActivationCheckTimer.stopTiming();
+        }
+    }
+
+    private static void activateTileEntitiesPerPlayer(WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
         for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
             for (EntityPlayer player : playerChunkMapEntry.players) {
@@ -139,6 +153,61 @@ public static void activateTileEntities(WorldServer world) {
         }
     }
 
+    /**
+     * Visits each watched chunk once, testing its tileentities against the
+     * sections in range of the players of the world.
+     *
+     * @param world The world to perform activation checks in
+     */
+    private static void activateTileEntitiesWithIndex(WorldServer world) {
+        if (world.playerEntities.isEmpty()) {
+            return;
+        }
+
+        final TileEntityActivationIndex index = new TileEntityActivationIndex(world.playerEntities);
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        for (PlayerChunkMapEntry playerChunkMapEntry : world.getPlayerChunkMap().entries) {
+            final Chunk chunk = playerChunkMapEntry.chunk;
+            if (chunk == null || chunk.unloadQueued || playerChunkMapEntry.players.isEmpty()) {
+                continue;
+            }
+
+            for (TileEntity tileEntity : chunk.getTileEntityMap().values()) {
+                if (!requiresRangeCheck(tileEntity, currentTick)) {
+                    continue;
+                }
+                if (index.isInRange(tileEntity.getPos(), ((IModData_Activation) tileEntity).getActivationRange())) {
+                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the tileentity still needs a range check this tick,
+     * activating it right away if it is always active.
+     */
+    private static boolean requiresRangeCheck(TileEntity tileEntity, long currentTick) {
+        if (!(tileEntity instanceof ITickable)) {
+            return false;
+        }
+        final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+        if (currentTick <= spongeTileEntity.getActivatedTick()) {
+            // already activated
+            return false;
+        }
+        if (spongeTileEntity.getDefaultActivationState()) {
+            spongeTileEntity.setActivatedTick(currentTick);
+            return false;
+        }
+        // check if activation cache needs to be updated
+        if (spongeTileEntity.requiresActivationCacheRefresh()) {
+            TileEntityActivation.initializeTileEntityActivationState(tileEntity);
+            spongeTileEntity.requiresActivationCacheRefresh(false);
+        }
+        return true;
+    }
+
 
     /**
      * Checks for the activation state of all tileentities in this chunk.
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * A per tick index of the chunk sections within activation range of the
+ * players of a world.
+ *
+ * <p>For every distinct activation range, the sections entirely in range
+ * of a player and the sections only partially in range are computed once.
+ * A tileentity in an entirely covered section is activated without any
+ * distance check, one outside of both sets is skipped, and only those in
+ * partially covered sections are tested against the players.</p>
+ */
+public final class TileEntityActivationIndex {
+
+    private final int[] playerX;
+    private final int[] playerY;
+    private final int[] playerZ;
+    private final Int2ObjectMap<Coverage> coverageByRange = new Int2ObjectOpenHashMap<>();
+
+    public TileEntityActivationIndex(List<EntityPlayer> players) {
+        final int size = players.size();
+        this.playerX = new int[size];
+        this.playerY = new int[size];
+        this.playerZ = new int[size];
+        for (int i = 0; i < size; i++) {
+            final BlockPos pos = players.get(i).getPosition();
+            this.playerX[i] = pos.getX();
+            this.playerY[i] = pos.getY();
+            this.playerZ[i] = pos.getZ();
+        }
+    }
+
+    /**
+     * Checks whether the given position is within the given range of any
+     * player, matching the rounded euclidean distance used by the per
+     * player activation.
+     *
+     * @param pos The position of the tileentity
+     * @param range The activation range of the tileentity
+     * @return Whether the position is in range
+     */
+    public boolean isInRange(BlockPos pos, int range) {
+        if (range < 0) {
+            return false;
+        }
+        Coverage coverage = this.coverageByRange.get(range);
+        if (coverage == null) {
+            coverage = new Coverage(range);
+            this.coverageByRange.put(range, coverage);
+        }
+
+        final long key = sectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+        if (coverage.full.contains(key)) {
+            return true;
+        }
+        if (!coverage.partial.contains(key)) {
+            return false;
+        }
+        final long limit = limit(range);
+        for (int i = 0; i < this.playerX.length; i++) {
+            if (distanceSq(pos.getX(), pos.getY(), pos.getZ(), i) <= limit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long distanceSq(int x, int y, int z, int player) {
+        final long dx = x - this.playerX[player];
+        final long dy = y - this.playerY[player];
+        final long dz = z - this.playerZ[player];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Math.round(distance) <= range holds exactly when the squared distance
+     * is below (range + 0.5)^2, which for integral squared distances is the
+     * same as being at most range^2 + range.
+     */
+    static long limit(int range) {
+        return (long) range * range + range;
+    }
+
+    static long sectionKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | ((long) z & 0x3FFFFFFL);
+    }
+
+    private static long axisMin(int player, int sectionMin) {
+        if (player < sectionMin) {
+            return sectionMin - player;
+        }
+        if (player > sectionMin + 15) {
+            return player - (sectionMin + 15);
+        }
+        return 0;
+    }
+
+    private static long axisMax(int player, int sectionMin) {
+        return Math.max(Math.abs(player - sectionMin), Math.abs(player - (sectionMin + 15)));
+    }
+
+    private final class Coverage {
+
+        final LongSet full = new LongOpenHashSet();
+        final LongSet partial = new LongOpenHashSet();
+
+        Coverage(int range) {
+            final long limit = limit(range);
+            final TileEntityActivationIndex index = TileEntityActivationIndex.this;
+            for (int i = 0; i < index.playerX.length; i++) {
+                final int px = index.playerX[i];
+                final int py = index.playerY[i];
+                final int pz = index.playerZ[i];
+                for (int sx = (px - range) >> 4; sx <= (px + range) >> 4; sx++) {
+                    final long minX = axisMin(px, sx << 4);
+                    final long maxX = axisMax(px, sx << 4);
+                    for (int sy = Math.max(0, (py - range) >> 4); sy <= Math.min(15, (py + range) >> 4); sy++) {
+                        final long minY = axisMin(py, sy << 4);
+                        final long maxY = axisMax(py, sy << 4);
+                        for (int sz = (pz - range) >> 4; sz <= (pz + range) >> 4; sz++) {
+                            final long minZ = axisMin(pz, sz << 4);
+                            if (minX * minX + minY * minY + minZ * minZ > limit) {
+                                continue;
+                            }
+                            final long maxZ = axisMax(pz, sz << 4);
+                            final long key = sectionKey(sx, sy, sz);
+                            if (maxX * maxX + maxY * maxY + maxZ * maxZ <= limit) {
+                                this.full.add(key);
+                                this.partial.remove(key);
+                            } else if (!this.full.contains(key)) {
+                                this.partial.add(key);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs asynchronous tasks on a bounded work stealing pool. Every plugin
+ * gets its own queue, so a plugin can only occupy as many threads of the
+ * pool as its concurrency limit allows.
+ */
+public final class AsyncTaskExecutor {
+
+    private final ForkJoinPool pool;
+    private final Map<String, PluginQueue> queues = new ConcurrentHashMap<>();
+    private final int concurrencyLimit;
+    private final int queueLimit;
+    private final Map<String, Integer> concurrencyOverrides;
+
+    AsyncTaskExecutor(SchedulerCategory config) {
+        final int poolSize = config.getAsyncPoolSize() > 0 ? config.getAsyncPoolSize()
+                : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ForkJoinPool(poolSize, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge - Async Task Thread #" + threadCount.getAndIncrement());
+            return thread;
+        }, null, true);
+        // By default no plugin may take more than half of the pool, which leaves room for the other plugins and for Sponge itself
+        this.concurrencyLimit = config.getPluginConcurrencyLimit() > 0 ? config.getPluginConcurrencyLimit() : Math.max(1, poolSize / 2);
+        this.queueLimit = config.getPluginQueueLimit();
+        this.concurrencyOverrides = new ConcurrentHashMap<>(config.getPluginConcurrencyOverrides());
+    }
+
+    /**
+     * Queues the runnable to be executed on behalf of the plugin.
+     *
+     * @param plugin The plugin that owns the task
+     * @param runnable The runnable
+     * @throws RejectedExecutionException If the plugin's queue is full
+     */
+    void execute(PluginContainer plugin, Runnable runnable) {
+        this.queues.computeIfAbsent(plugin.getId(), id -> new PluginQueue(plugin)).submit(runnable);
+    }
+
+    /**
+     * Gets an {@link ExecutorService} view that executes everything on
+     * behalf of the given plugin. The view can't be shut down.
+     *
+     * @param plugin The plugin
+     * @return The executor service
+     */
+    ExecutorService forPlugin(PluginContainer plugin) {
+        return new PluginExecutorService(plugin);
+    }
+
+    public Collection<PluginQueue> getPluginQueues() {
+        return ImmutableList.copyOf(this.queues.values());
+    }
+
+    public final class PluginQueue {
+
+        private final PluginContainer plugin;
+        private final int limit;
+        private final Queue<QueuedRunnable> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+        private final LongAdder runTime = new LongAdder();
+
+        PluginQueue(PluginContainer plugin) {
+            this.plugin = plugin;
+            final Integer override = AsyncTaskExecutor.this.concurrencyOverrides.get(plugin.getId());
+            this.limit = override != null && override > 0 ? override : AsyncTaskExecutor.this.concurrencyLimit;
+        }
+
+        void submit(Runnable runnable) {
+            if (AsyncTaskExecutor.this.queueLimit > 0 && this.queued.get() >= AsyncTaskExecutor.this.queueLimit) {
+                this.rejected.increment();
+                throw new RejectedExecutionException("The async task queue of " + this.plugin.getId() + " is full ("
+                        + AsyncTaskExecutor.this.queueLimit + " tasks)");
+            }
+            this.queued.incrementAndGet();
+            this.pending.add(new QueuedRunnable(runnable, System.nanoTime()));
+            this.dispatch();
+        }
+
+        /**
+         * Hands queued runnables to the pool while the plugin is below its
+         * concurrency limit. Both submitting and finishing a runnable call
+         * this after changing the state, so no runnable is left behind.
+         */
+        private void dispatch() {
+            while (!this.pending.isEmpty()) {
+                final int current = this.running.get();
+                if (current >= this.limit) {
+                    return;
+                }
+                if (!this.running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final QueuedRunnable next = this.pending.poll();
+                if (next == null) {
+                    this.running.decrementAndGet();
+                    continue;
+                }
+                this.queued.decrementAndGet();
+                AsyncTaskExecutor.this.pool.execute(() -> this.run(next));
+            }
+        }
+
+        private void run(QueuedRunnable queuedRunnable) {
+            final long start = System.nanoTime();
+            this.waitTime.add(start - queuedRunnable.queuedAt);
+            try {
+                queuedRunnable.runnable.run();
+            } finally {
+                this.runTime.add(System.nanoTime() - start);
+                this.executed.increment();
+                this.running.decrementAndGet();
+                this.dispatch();
+            }
+        }
+
+        public PluginContainer getPlugin() {
+            return this.plugin;
+        }
+
+        public int getQueueDepth() {
+            return this.queued.get();
+        }
+
+        public int getRunning() {
+            return this.running.get();
+        }
+
+        public long getExecuted() {
+            return this.executed.sum();
+        }
+
+        public long getRejected() {
+            return this.rejected.sum();
+        }
+
+        /**
+         * Gets the total time executed runnables spent waiting in the queue.
+         *
+         * @return The wait time in nanoseconds
+         */
+        public long getWaitTime() {
+            return this.waitTime.sum();
+        }
+
+        /**
+         * Gets the total time spent running the runnables.
+         *
+         * @return The run time in nanoseconds
+         */
+        public long getRunTime() {
+            return this.runTime.sum();
+        }
+    }
+
+    private static final class QueuedRunnable {
+
+        final Runnable runnable;
+        final long queuedAt;
+
+        QueuedRunnable(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private final class PluginExecutorService extends AbstractExecutorService {
+
+        private final PluginContainer plugin;
+
+        PluginExecutorService(PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            AsyncTaskExecutor.this.execute(this.plugin, command);
+        }
+
+        @Override
+        public void shutdown() {
+            // The pool is shared with all other plugins, see TaskExecutorService
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+}
@@ -33,15 +33,30 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 abstract class SchedulerBase {
 
+    private static final Comparator<ScheduledTask> EXECUTION_ORDER = Comparator.comparingLong(task -> task.queuedExecutionTimestamp);
+
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Pending tasks ordered by their next execution, so a tick only has to look at
+    // the tasks that are due. Tick and real time timestamps can't be compared, so
+    // they are queued separately.
+    private final PriorityQueue<ScheduledTask> tickQueue = new PriorityQueue<>(EXECUTION_ORDER);
+    private final PriorityQueue<ScheduledTask> timeQueue = new PriorityQueue<>(EXECUTION_ORDER);
+    // Cancelled tasks, removed from the task map on the next tick
+    private final Queue<ScheduledTask> cancelledTasks = new ConcurrentLinkedQueue<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -68,6 +83,17 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets whether the timestamps of the task, in its current state, are
+     * measured in ticks rather than real time.
+     *
+     * @param task The task
+     * @return Whether the task's timestamps are tick based
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -76,7 +102,48 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.setScheduler(this);
         this.taskMap.put(task.getUniqueId(), task);
+        this.enqueue(task);
+    }
+
+    /**
+     * Queues the task for its next execution, based on its current state
+     * and timestamp.
+     *
+     * @param task The task to queue
+     */
+    private void enqueue(ScheduledTask task) {
+        task.queuedExecutionTimestamp = task.nextExecutionTimestamp();
+        final PriorityQueue<ScheduledTask> queue = this.isTickBased(task) ? this.tickQueue : this.timeQueue;
+        synchronized (queue) {
+            queue.add(task);
+        }
+    }
+
+    /**
+     * Marks the task to be removed from the task map on the next tick.
+     *
+     * @param task The cancelled task
+     */
+    void onTaskCancelled(ScheduledTask task) {
+        this.cancelledTasks.add(task);
+    }
+
+    /**
+     * Gets the time in nanoseconds until the next real time based task is
+     * due, {@link Long#MAX_VALUE} if there are none.
+     *
+     * @return The time until the next task is due
+     */
+    protected long getTimeUntilNextTask() {
+        synchronized (this.timeQueue) {
+            final ScheduledTask next = this.timeQueue.peek();
+            if (next == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0L, next.queuedExecutionTimestamp - System.nanoTime());
+        }
     }
 
     /**
@@ -105,7 +172,12 @@ protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask cancelled;
+            while ((cancelled = this.cancelledTasks.poll()) != null) {
+                this.removeTask(cancelled);
+            }
+            this.processDueTasks(this.tickQueue);
+            this.processDueTasks(this.timeQueue);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -133,7 +205,31 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes all the tasks of the queue that are due. Tasks are only
+     * processed once per tick, even if they become due again while this
+     * tick is being processed.
+     *
+     * @param queue The queue
+     */
+    private void processDueTasks(PriorityQueue<ScheduledTask> queue) {
+        final List<ScheduledTask> dueTasks = new ArrayList<>();
+        synchronized (queue) {
+            ScheduledTask task;
+            while ((task = queue.peek()) != null) {
+                // Cancelled tasks are dropped as soon as they reach the head of the queue
+                if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED && task.queuedExecutionTimestamp > this.getTimestamp(task)) {
+                    break;
+                }
+                dueTasks.add(queue.poll());
+            }
+        }
+        for (ScheduledTask task : dueTasks) {
+            this.processTask(task);
+        }
+    }
+
+    /**
+     * Processes a task that is due.
      *
      * @param task The task to process
      */
@@ -144,29 +240,19 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
-        }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
+        // The task is due, it waited for either its initial delay or the interval
+        // since it last ran. Repeating tasks get a reset-timestamp each time they
+        // are set RUNNING.
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
+        // If task is one time shot, remove it from the map.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.enqueue(task);
         }
     }
 
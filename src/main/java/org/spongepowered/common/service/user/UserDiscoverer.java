@@ -43,6 +43,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
+import org.spongepowered.common.interfaces.server.management.IMixinPlayerProfileCache;
 import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.world.WorldManager;
 
@@ -50,7 +51,6 @@
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
@@ -108,8 +108,7 @@ static User findByProfile(org.spongepowered.api.profile.GameProfile profile) {
     static User findByUsername(String username) {
         // check mojang cache
         PlayerProfileCache cache = SpongeImpl.getServer().getPlayerProfileCache();
-        HashSet<String> names = Sets.newHashSet(cache.getUsernames());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
+        if (((IMixinPlayerProfileCache) cache).containsUsername(username)) {
             GameProfile profile = cache.getGameProfileForUsername(username);
             if (profile != null) {
                 return findByProfile((org.spongepowered.api.profile.GameProfile) profile);
@@ -133,30 +132,7 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         profiles.addAll(userCache.asMap().values().stream().map(User::getProfile).collect(Collectors.toList()));
 
         // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-
-            // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
-            // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
-            if (playerUuid.contains(".")) {
-                continue;
-            }
-
-            // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
-            // any filenames that fail the UUID check.
-            UUID uuid;
-            try {
-                uuid = UUID.fromString(playerUuid);
-            } catch (Exception ex) {
-                continue;
-            }
-
-            final GameProfile profile = SpongeImpl.getServer().getPlayerProfileCache().getProfileByUUID(uuid);
-            if (profile != null) {
-                profiles.add((org.spongepowered.api.profile.GameProfile) profile);
-            }
-        }
+        UserProfileIndex.forEachProfile(profiles::add);
 
         // Add all whitelisted users
         final UserListWhitelist whiteList = SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers();
@@ -171,6 +147,41 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         return profiles;
     }
 
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(String lowerCasePrefix) {
+        Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
+        Set<org.spongepowered.api.profile.GameProfile> profiles = Sets.newHashSet();
+
+        // Add all matching cached profiles
+        userCache.asMap().values().stream()
+                .map(User::getProfile)
+                .filter(profile -> startsWith(profile, lowerCasePrefix))
+                .forEach(profiles::add);
+
+        // Add all matching profiles from the data files, using the sorted name index
+        UserProfileIndex.forEachProfileMatching(lowerCasePrefix, profiles::add);
+
+        // Add all matching whitelisted users
+        final UserListWhitelist whiteList = SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers();
+        whiteList.getValues().values().stream()
+                .map(entry -> (org.spongepowered.api.profile.GameProfile) entry.value)
+                .filter(profile -> startsWith(profile, lowerCasePrefix))
+                .forEach(profiles::add);
+
+        // Add all matching banned users
+        final UserListBans banList = SpongeImpl.getServer().getPlayerList().getBannedPlayers();
+        banList.getValues().values().stream()
+                .filter(entry -> entry != null)
+                .map(entry -> (org.spongepowered.api.profile.GameProfile) entry.value)
+                .filter(profile -> startsWith(profile, lowerCasePrefix))
+                .forEach(profiles::add);
+
+        return profiles;
+    }
+
+    private static boolean startsWith(org.spongepowered.api.profile.GameProfile profile, String lowerCasePrefix) {
+        return profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(lowerCasePrefix);
+    }
+
     static boolean delete(UUID uniqueId) {
         if (getOnlinePlayer(uniqueId) != null) {
             // Don't delete online player's data
@@ -265,7 +276,11 @@ private static boolean deleteStoredPlayerData(UUID uniqueId) {
         File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                if (dataFile.delete()) {
+                    UserProfileIndex.onPlayerDataDeleted(uniqueId);
+                    return true;
+                }
+                return false;
             } catch (SecurityException e) {
                 SpongeImpl.getLogger().warn("Unable to delete file {} due to a security error", dataFile, e);
                 return false;
@@ -0,0 +1,290 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.SpongeUsernameCache;
+import org.spongepowered.common.world.WorldManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent index of every player that has stored data in the overworld,
+ * along with their last known name.
+ *
+ * <p>The index is kept in sync as player data is written or deleted and is
+ * saved alongside the default world, so enumerating or prefix matching
+ * users does not have to list and resolve every file in the player data
+ * directory. When the index is loaded it is checked against the files in the
+ * player data directory, so that only players whose data was added while the
+ * server was offline have to be resolved, and players whose data was removed
+ * are dropped. A missing index is built the same way.</p>
+ */
+public final class UserProfileIndex {
+
+    private static final String INDEX_FILE = "profiles.idx";
+
+    @Nullable private static UserProfileIndex instance;
+
+    private final Path indexFile;
+    private final Map<UUID, String> namesById = new HashMap<>();
+    // Lower-cased names, sorted for prefix matching
+    private final NavigableMap<String, Set<UUID>> idsByName = new TreeMap<>();
+    private boolean dirty;
+
+    private UserProfileIndex(Path indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Records that data was written for the given player.
+     *
+     * @param uniqueId The player's unique id
+     * @param name The player's current name
+     */
+    public static void onPlayerDataSaved(UUID uniqueId, @Nullable String name) {
+        final UserProfileIndex index = get();
+        if (index != null) {
+            index.put(uniqueId, name);
+        }
+    }
+
+    /**
+     * Saves the index to disk if it changed since it was last saved.
+     */
+    public static void save() {
+        final UserProfileIndex index;
+        synchronized (UserProfileIndex.class) {
+            index = instance;
+        }
+        if (index != null) {
+            index.write();
+        }
+    }
+
+    static void onPlayerDataDeleted(UUID uniqueId) {
+        final UserProfileIndex index = get();
+        if (index != null) {
+            index.remove(uniqueId);
+        }
+    }
+
+    static void forEachProfile(Consumer<org.spongepowered.api.profile.GameProfile> consumer) {
+        final UserProfileIndex index = get();
+        if (index != null) {
+            index.forEach(consumer);
+        }
+    }
+
+    static void forEachProfileMatching(String lowerCasePrefix, Consumer<org.spongepowered.api.profile.GameProfile> consumer) {
+        final UserProfileIndex index = get();
+        if (index != null) {
+            index.forEachMatching(lowerCasePrefix, consumer);
+        }
+    }
+
+    @Nullable
+    private static synchronized UserProfileIndex get() {
+        final Optional<WorldServer> overworld = WorldManager.getWorldByDimensionId(0);
+        final Optional<Path> savesDirectory = WorldManager.getCurrentSavesDirectory();
+        if (!overworld.isPresent() || !savesDirectory.isPresent()) {
+            return null;
+        }
+
+        final Path indexFile = savesDirectory.get().resolve("data").resolve("sponge").resolve(INDEX_FILE);
+        if (instance == null || !instance.indexFile.equals(indexFile)) {
+            final UserProfileIndex index = new UserProfileIndex(indexFile);
+            index.read();
+            index.reconcile((SaveHandler) overworld.get().getSaveHandler());
+            index.write();
+            instance = index;
+        }
+        return instance;
+    }
+
+    private synchronized void put(UUID uniqueId, @Nullable String name) {
+        if (name != null && name.isEmpty()) {
+            name = null;
+        }
+        if (this.namesById.containsKey(uniqueId)) {
+            final String previous = this.namesById.get(uniqueId);
+            if (previous == null ? name == null : previous.equals(name)) {
+                return;
+            }
+            this.unlinkName(uniqueId, previous);
+        }
+        this.namesById.put(uniqueId, name);
+        if (name != null) {
+            this.idsByName.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new HashSet<>(1)).add(uniqueId);
+        }
+        this.dirty = true;
+    }
+
+    private synchronized void remove(UUID uniqueId) {
+        if (!this.namesById.containsKey(uniqueId)) {
+            return;
+        }
+        this.unlinkName(uniqueId, this.namesById.remove(uniqueId));
+        this.dirty = true;
+    }
+
+    private void unlinkName(UUID uniqueId, @Nullable String name) {
+        if (name == null) {
+            return;
+        }
+        final String key = name.toLowerCase(Locale.ROOT);
+        final Set<UUID> ids = this.idsByName.get(key);
+        if (ids != null && ids.remove(uniqueId) && ids.isEmpty()) {
+            this.idsByName.remove(key);
+        }
+    }
+
+    private synchronized void forEach(Consumer<org.spongepowered.api.profile.GameProfile> consumer) {
+        for (Map.Entry<UUID, String> entry : this.namesById.entrySet()) {
+            // Players without a known name have never been exposed as profiles
+            if (entry.getValue() != null) {
+                consumer.accept((org.spongepowered.api.profile.GameProfile) new GameProfile(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private synchronized void forEachMatching(String lowerCasePrefix, Consumer<org.spongepowered.api.profile.GameProfile> consumer) {
+        for (Set<UUID> ids : this.idsByName.subMap(lowerCasePrefix, true, lowerCasePrefix + Character.MAX_VALUE, true).values()) {
+            for (UUID uniqueId : ids) {
+                consumer.accept((org.spongepowered.api.profile.GameProfile) new GameProfile(uniqueId, this.namesById.get(uniqueId)));
+            }
+        }
+    }
+
+    private synchronized void reconcile(SaveHandler saveHandler) {
+        final Set<UUID> stored = new HashSet<>();
+        for (String playerUuid : saveHandler.getAvailablePlayerDat()) {
+
+            // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
+            // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
+            if (playerUuid.contains(".")) {
+                continue;
+            }
+
+            // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
+            // any filenames that fail the UUID check.
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(playerUuid);
+            } catch (Exception ex) {
+                continue;
+            }
+
+            stored.add(uuid);
+        }
+
+        final Set<UUID> removed = new HashSet<>(this.namesById.keySet());
+        removed.removeAll(stored);
+        stored.removeAll(this.namesById.keySet());
+        if (removed.isEmpty() && stored.isEmpty()) {
+            return;
+        }
+
+        SpongeImpl.getLogger().info("Updating user profile index from {} ({} added, {} removed)", saveHandler.playersDirectory,
+                stored.size(), removed.size());
+        for (UUID uuid : removed) {
+            this.remove(uuid);
+        }
+        for (UUID uuid : stored) {
+            final GameProfile profile = SpongeImpl.getServer().getPlayerProfileCache().getProfileByUUID(uuid);
+            this.put(uuid, profile != null ? profile.getName() : SpongeUsernameCache.getLastKnownUsername(uuid));
+        }
+    }
+
+    private synchronized void read() {
+        if (!Files.isRegularFile(this.indexFile)) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(this.indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final int split = line.indexOf(' ');
+                final UUID uniqueId = UUID.fromString(split == -1 ? line : line.substring(0, split));
+                this.put(uniqueId, split == -1 ? null : line.substring(split + 1));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            SpongeImpl.getLogger().error("Failed to read user profile index [{}], rebuilding it", this.indexFile, e);
+            this.namesById.clear();
+            this.idsByName.clear();
+            return;
+        }
+        this.dirty = false;
+    }
+
+    private synchronized void write() {
+        if (!this.dirty) {
+            return;
+        }
+
+        final Path tempFile = this.indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        try {
+            Files.createDirectories(this.indexFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<UUID, String> entry : this.namesById.entrySet()) {
+                    writer.write(entry.getKey().toString());
+                    if (entry.getValue() != null) {
+                        writer.write(' ');
+                        writer.write(entry.getValue());
+                    }
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, this.indexFile, StandardCopyOption.REPLACE_EXISTING);
+            this.dirty = false;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save user profile index [{}]!", this.indexFile, e);
+        }
+    }
+}
@@ -30,18 +30,25 @@
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 
+import org.spongepowered.api.Sponge;
 import org.spongepowered.common.SpongeImpl;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
@@ -64,12 +71,22 @@ public final class SpongeUsernameCache {
 
     // Thread-safe map
     private static Map<UUID, String> map = new ConcurrentHashMap<>();
+    // Reverse index of lower-cased usernames, kept in sync with map
+    private static final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
 
     private static final Charset charset = Charsets.UTF_8;
 
     private static final File saveFile = new File(".", "usernamecache.json");
+    private static final File tempSaveFile = new File(".", "usernamecache.json.tmp");
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
+    // Saves requested within this window are coalesced into a single write
+    private static final long SAVE_DELAY_MS = 5000;
+    private static final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Username Cache Saver").setDaemon(true).build());
+    private static final AtomicBoolean dirty = new AtomicBoolean();
+    private static final AtomicBoolean saveScheduled = new AtomicBoolean();
+
     private static boolean loaded = false;
 
     /**
@@ -87,11 +104,16 @@ public static void setUsername(UUID uuid, String username) {
             load();
         }
 
-        if (username.equals(map.get(uuid))) {
+        final String previous = map.put(uuid, username);
+        if (username.equals(previous)) {
             return;
         }
 
-        map.put(uuid, username);
+        if (previous != null) {
+            uuidsByName.remove(previous.toLowerCase(Locale.ROOT), uuid);
+        }
+        uuidsByName.put(username.toLowerCase(Locale.ROOT), uuid);
+        dirty.set(true);
     }
 
     /**
@@ -107,7 +129,10 @@ public static boolean removeUsername(UUID uuid) {
             load();
         }
 
-        if (map.remove(uuid) != null) {
+        final String previous = map.remove(uuid);
+        if (previous != null) {
+            uuidsByName.remove(previous.toLowerCase(Locale.ROOT), uuid);
+            dirty.set(true);
             return true;
         }
 
@@ -151,13 +176,7 @@ public static UUID getLastKnownUUID(String username) {
             load();
         }
 
-        for (Map.Entry<UUID, String> mapEntry : map.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
-        }
-
-        return null;
+        return uuidsByName.get(username.toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -191,16 +210,45 @@ public static Map<UUID, String> getMap() {
 
     /**
      * Save the cache to file
+     * <p>
+     * The write happens off-thread and is skipped entirely if nothing
+     * changed since the last save. Repeated calls within a short window
+     * are coalesced into a single write. Once the server is shutting
+     * down the cache is written synchronously instead.
      */
     public static void save() {
         if (!loaded) {
             load();
         }
 
+        if (!Sponge.isServerAvailable() || !SpongeImpl.getServer().isServerRunning()) {
+            flush();
+            return;
+        }
+
+        if (dirty.get() && saveScheduled.compareAndSet(false, true)) {
+            saveExecutor.schedule(() -> {
+                saveScheduled.set(false);
+                flush();
+            }, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Immediately writes the cache to file on the calling thread if it
+     * has changed since the last save.
+     */
+    public static synchronized void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
         try {
-            // Make sure we don't save when another thread is still saving
-            Files.write(gson.toJson(map), saveFile, charset);
+            // Write to a temporary file first so a crash mid-write can't corrupt the cache
+            Files.write(gson.toJson(map), tempSaveFile, charset);
+            java.nio.file.Files.move(tempSaveFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
+            dirty.set(true);
             SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
         }
     }
@@ -212,12 +260,13 @@ public static void load() {
         loaded = true;
         if (!saveFile.exists()) return;
 
+        Map<UUID, String> loadedMap = null;
         try {
 
             String json = Files.toString(saveFile, charset);
             Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
 
-            map = gson.fromJson(json, type);
+            loadedMap = gson.fromJson(json, type);
         } catch (JsonSyntaxException e) {
             SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
             saveFile.delete();
@@ -226,9 +275,11 @@ public static void load() {
             saveFile.delete();
         } finally {
             // Can sometimes occur when the json file is malformed
-            if (map == null) {
-                map = Maps.newHashMap();
+            map = loadedMap == null ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(loadedMap);
+            uuidsByName.clear();
+            for (Map.Entry<UUID, String> entry : map.entrySet()) {
+                uuidsByName.put(entry.getValue().toLowerCase(Locale.ROOT), entry.getKey());
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.world.NextTickListEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The set of pending block updates of a world, additionally indexed by
+ * block position.
+ *
+ * <p>WorldServer keeps its pending updates in both a hash set and a tree
+ * set, and every change to the tree set is mirrored on the hash set. This
+ * replaces the hash set so that the updates scheduled at a position can be
+ * looked up without scanning the tree set.</p>
+ */
+public final class PendingTickListEntrySet extends HashSet<NextTickListEntry> {
+
+    private static final long serialVersionUID = -1954837066201396125L;
+
+    private final Long2ObjectMap<List<NextTickListEntry>> byPosition = new Long2ObjectOpenHashMap<>();
+
+    @Override
+    public boolean add(NextTickListEntry entry) {
+        if (!super.add(entry)) {
+            return false;
+        }
+        final long key = entry.position.toLong();
+        List<NextTickListEntry> entries = this.byPosition.get(key);
+        if (entries == null) {
+            // Almost always a single update per position
+            entries = new ArrayList<>(1);
+            this.byPosition.put(key, entries);
+        }
+        entries.add(entry);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!super.remove(o)) {
+            return false;
+        }
+        final long key = ((NextTickListEntry) o).position.toLong();
+        final List<NextTickListEntry> entries = this.byPosition.get(key);
+        if (entries != null) {
+            entries.remove(o);
+            if (entries.isEmpty()) {
+                this.byPosition.remove(key);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.byPosition.clear();
+    }
+
+    /**
+     * Gets the pending updates at the given position, in the order they
+     * will be ticked.
+     *
+     * @param packedPos The position as returned by BlockPos#toLong
+     * @return The pending updates
+     */
+    public List<NextTickListEntry> getEntriesAt(long packedPos) {
+        final List<NextTickListEntry> entries = this.byPosition.get(packedPos);
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        if (entries.size() > 1) {
+            entries.sort(null);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps track of the chunks within mob spawning range of the players of a
+ * world, for the world's entity spawner.
+ *
+ * <p>Every chunk is counted once no matter how many players are around it.
+ * The squares of the players are only moved when a player crosses a chunk
+ * border or the spawn range changes, and loaded chunks are remembered until
+ * they unload, so a spawn pass only walks the deduplicated chunks.</p>
+ */
+public final class SpawnChunkTracker {
+
+    private final Long2ObjectMap<Coverage> coverage = new Long2ObjectOpenHashMap<>();
+    private final Reference2ObjectMap<EntityPlayer, Square> squares = new Reference2ObjectOpenHashMap<>();
+    private long pass;
+    private int candidates;
+    private int skipped;
+
+    /**
+     * Moves the squares of the players of the world that affect spawning to
+     * their current chunk, and drops the squares of players who left.
+     *
+     * @param world The world
+     * @param range The mob spawn range, in chunks
+     */
+    public void updatePlayers(WorldServer world, int range) {
+        final long pass = ++this.pass;
+        for (EntityPlayer player : world.playerEntities) {
+            // We treat players who do not affect spawning as "spectators"
+            if (!((IMixinEntityPlayer) player).affectsSpawning() || player.isSpectator()) {
+                continue;
+            }
+            final int chunkX = MathHelper.floor(player.posX / 16.0D);
+            final int chunkZ = MathHelper.floor(player.posZ / 16.0D);
+            Square square = this.squares.get(player);
+            if (square == null) {
+                square = new Square(chunkX, chunkZ, range);
+                this.squares.put(player, square);
+                this.cover(square, 1);
+            } else if (square.chunkX != chunkX || square.chunkZ != chunkZ || square.range != range) {
+                this.cover(square, -1);
+                square.chunkX = chunkX;
+                square.chunkZ = chunkZ;
+                square.range = range;
+                this.cover(square, 1);
+            }
+            square.pass = pass;
+        }
+
+        final ObjectIterator<Reference2ObjectMap.Entry<EntityPlayer, Square>> iterator = this.squares.reference2ObjectEntrySet().iterator();
+        while (iterator.hasNext()) {
+            final Square square = iterator.next().getValue();
+            if (square.pass != pass) {
+                this.cover(square, -1);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Collects the chunks that mobs may currently spawn in, that is the loaded
+     * chunks within the border that are not on the edge of every player's
+     * square and are being sent to players.
+     *
+     * @param world The world
+     * @param eligible The list to add the eligible chunks to
+     */
+    public void collectEligibleChunks(WorldServer world, List<Chunk> eligible) {
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        final WorldBorder worldBorder = world.getWorldBorder();
+        int candidates = 0;
+        int skipped = 0;
+        for (Coverage coverage : this.coverage.values()) {
+            Chunk chunk = coverage.chunk;
+            if (chunk == null || !chunk.isLoaded()) {
+                chunk = coverage.chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(coverage.chunkX, coverage.chunkZ);
+            }
+            if (chunk == null || (chunk.unloadQueued && !((IMixinChunk) chunk).isPersistedChunk())) {
+                // Don't attempt to spawn in an unloaded chunk
+                skipped++;
+                continue;
+            }
+
+            candidates++;
+            if (coverage.interiorPlayers == 0 || !worldBorder.contains(chunk.getPos())) {
+                skipped++;
+                continue;
+            }
+            final PlayerChunkMapEntry entry = world.getPlayerChunkMap().getEntry(coverage.chunkX, coverage.chunkZ);
+            if (entry == null || !entry.isSentToPlayers()) {
+                skipped++;
+                continue;
+            }
+            eligible.add(chunk);
+        }
+        this.candidates = candidates;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Gets the number of loaded chunks in range of a player during the last
+     * spawn pass, which scales the mob caps.
+     *
+     * @return The number of candidate chunks
+     */
+    public int getCandidateCount() {
+        return this.candidates;
+    }
+
+    /**
+     * Gets the number of chunks in range of a player that were not eligible
+     * for spawning during the last spawn pass.
+     *
+     * @return The number of skipped chunks
+     */
+    public int getSkippedCount() {
+        return this.skipped;
+    }
+
+    private void cover(Square square, int delta) {
+        final int range = square.range;
+        for (int i = -range; i <= range; ++i) {
+            for (int j = -range; j <= range; ++j) {
+                final int chunkX = square.chunkX + i;
+                final int chunkZ = square.chunkZ + j;
+                final long key = ChunkPos.asLong(chunkX, chunkZ);
+                Coverage coverage = this.coverage.get(key);
+                if (coverage == null) {
+                    coverage = new Coverage(chunkX, chunkZ);
+                    this.coverage.put(key, coverage);
+                }
+                coverage.players += delta;
+                if (i != -range && i != range && j != -range && j != range) {
+                    coverage.interiorPlayers += delta;
+                }
+                if (coverage.players == 0) {
+                    this.coverage.remove(key);
+                }
+            }
+        }
+    }
+
+    private static final class Coverage {
+
+        final int chunkX;
+        final int chunkZ;
+        int players;
+        int interiorPlayers;
+        @Nullable Chunk chunk;
+
+        Coverage(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+
+    private static final class Square {
+
+        int chunkX;
+        int chunkZ;
+        int range;
+        long pass;
+
+        Square(int chunkX, int chunkZ, int range) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.range = range;
+        }
+    }
+}
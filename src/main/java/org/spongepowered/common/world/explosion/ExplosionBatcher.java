@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.Explosion;
+import org.spongepowered.common.interfaces.world.IMixinExplosion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Groups explosions whose entity search boxes overlap so that each group can
+ * be evaluated together, with a single entity query covering all of them.
+ */
+public final class ExplosionBatcher {
+
+    /**
+     * Splits the given explosions into groups of transitively overlapping
+     * explosions. Groups, and the explosions within them, keep the order in
+     * which the explosions were given.
+     *
+     * @param explosions The explosions to group
+     * @return The groups
+     */
+    public static List<List<Explosion>> groupOverlapping(List<Explosion> explosions) {
+        final int size = explosions.size();
+        final AxisAlignedBB[] boxes = new AxisAlignedBB[size];
+        final Integer[] byMinX = new Integer[size];
+        final int[] parents = new int[size];
+        for (int i = 0; i < size; i++) {
+            boxes[i] = ((IMixinExplosion) explosions.get(i)).getEntitySearchBox();
+            byMinX[i] = i;
+            parents[i] = i;
+        }
+
+        // Sweep along the x axis, only boxes that overlap on x can intersect
+        Arrays.sort(byMinX, Comparator.comparingDouble(index -> boxes[index].minX));
+        for (int i = 0; i < size; i++) {
+            final AxisAlignedBB box = boxes[byMinX[i]];
+            for (int j = i + 1; j < size && boxes[byMinX[j]].minX <= box.maxX; j++) {
+                if (box.intersects(boxes[byMinX[j]])) {
+                    union(parents, byMinX[i], byMinX[j]);
+                }
+            }
+        }
+
+        final List<List<Explosion>> groups = new ArrayList<>();
+        final int[] groupOfRoot = new int[size];
+        Arrays.fill(groupOfRoot, -1);
+        for (int i = 0; i < size; i++) {
+            final int root = find(parents, i);
+            if (groupOfRoot[root] == -1) {
+                groupOfRoot[root] = groups.size();
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groupOfRoot[root]).add(explosions.get(i));
+        }
+        return groups;
+    }
+
+    /**
+     * Gets the smallest box containing the entity search boxes of all the
+     * given explosions.
+     *
+     * @param explosions The explosions, must not be empty
+     * @return The combined search box
+     */
+    public static AxisAlignedBB getCombinedSearchBox(List<Explosion> explosions) {
+        AxisAlignedBB combined = ((IMixinExplosion) explosions.get(0)).getEntitySearchBox();
+        for (int i = 1; i < explosions.size(); i++) {
+            combined = combined.union(((IMixinExplosion) explosions.get(i)).getEntitySearchBox());
+        }
+        return combined;
+    }
+
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private static void union(int[] parents, int first, int second) {
+        final int firstRoot = find(parents, first);
+        final int secondRoot = find(parents, second);
+        if (firstRoot != secondRoot) {
+            // Keep the earliest explosion as the root
+            if (firstRoot < secondRoot) {
+                parents[secondRoot] = firstRoot;
+            } else {
+                parents[firstRoot] = secondRoot;
+            }
+        }
+    }
+
+    private ExplosionBatcher() {
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Marches the rays of an explosion to find the blocks it destroys, with the
+ * exact same results and random number usage as vanilla.
+ *
+ * <p>Rays are marched in primitive block coordinates. Block states are read
+ * straight from the chunks around the explosion, which are looked up once
+ * each, and affected blocks are collected as packed longs. Resistances are
+ * computed once per block per explosion, and are shared by the primed TNT
+ * explosions of the same world and tick.</p>
+ */
+public final class ExplosionRayMarcher {
+
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+
+    private static final int NUM_X_BITS = 26;
+    private static final int NUM_Z_BITS = NUM_X_BITS;
+    private static final int NUM_Y_BITS = 64 - NUM_X_BITS - NUM_Z_BITS;
+    private static final int Y_SHIFT = NUM_Z_BITS;
+    private static final int X_SHIFT = Y_SHIFT + NUM_Y_BITS;
+    private static final long X_MASK = (1L << NUM_X_BITS) - 1L;
+    private static final long Y_MASK = (1L << NUM_Y_BITS) - 1L;
+    private static final long Z_MASK = (1L << NUM_Z_BITS) - 1L;
+
+    // Resistances shared by the explosions of one world during one tick,
+    // together with the state they were computed for
+    private static WeakReference<World> sharedWorld = new WeakReference<>(null);
+    private static long sharedTick = Long.MIN_VALUE;
+    private static final Long2ObjectOpenHashMap<IBlockState> sharedStates = new Long2ObjectOpenHashMap<>();
+    private static final Long2FloatOpenHashMap sharedResistances = new Long2FloatOpenHashMap();
+
+    private final Explosion explosion;
+    private final World world;
+    @Nullable private final Entity exploder;
+    private final boolean sharesResistances;
+    private final Long2FloatOpenHashMap resistances = new Long2FloatOpenHashMap();
+    private final LongOpenHashSet affected = new LongOpenHashSet();
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunkWidth;
+    private final Chunk[] chunks;
+
+    /**
+     * Collects the positions of the blocks destroyed by the given explosion.
+     *
+     * @param explosion The explosion
+     * @param world The world of the explosion
+     * @param exploder The exploding entity, if any
+     * @param x The x coordinate of the explosion
+     * @param y The y coordinate of the explosion
+     * @param z The z coordinate of the explosion
+     * @param size The size of the explosion
+     * @param affectedPositions The list to add the affected positions to
+     */
+    public static void collectAffectedBlocks(Explosion explosion, World world, @Nullable Entity exploder, double x, double y, double z,
+            float size, List<BlockPos> affectedPositions) {
+        final ExplosionRayMarcher marcher = new ExplosionRayMarcher(explosion, world, exploder, x, z, size);
+        marcher.march(x, y, z, size);
+        for (LongIterator iterator = marcher.affected.iterator(); iterator.hasNext(); ) {
+            affectedPositions.add(BlockPos.fromLong(iterator.nextLong()));
+        }
+    }
+
+    private ExplosionRayMarcher(Explosion explosion, World world, @Nullable Entity exploder, double x, double z, float size) {
+        this.explosion = explosion;
+        this.world = world;
+        this.exploder = exploder;
+        this.resistances.defaultReturnValue(Float.NaN);
+
+        // Primed TNT doesn't override the resistance of blocks, so it only
+        // depends on the block. Other exploders may depend on themselves.
+        this.sharesResistances = !world.isRemote && exploder != null && exploder.getClass() == EntityTNTPrimed.class;
+        if (this.sharesResistances && (sharedWorld.get() != world || sharedTick != world.getTotalWorldTime())) {
+            sharedWorld = new WeakReference<>(world);
+            sharedTick = world.getTotalWorldTime();
+            sharedStates.clear();
+            sharedResistances.clear();
+        }
+
+        // Every step of a ray lowers its strength by at least 0.225 and
+        // moves it by 0.3 blocks, which bounds the chunks it can reach
+        final double reach = Math.ceil(size * 1.3F / 0.22500001F) * 0.3D + 1.0D;
+        this.minChunkX = MathHelper.floor(x - reach) >> 4;
+        this.minChunkZ = MathHelper.floor(z - reach) >> 4;
+        this.chunkWidth = Math.max((MathHelper.floor(x + reach) >> 4) - this.minChunkX, (MathHelper.floor(z + reach) >> 4) - this.minChunkZ) + 1;
+        this.chunks = new Chunk[this.chunkWidth * this.chunkWidth];
+    }
+
+    private void march(double x, double y, double z, float size) {
+        for (int j = 0; j < 16; ++j) {
+            for (int k = 0; k < 16; ++k) {
+                for (int l = 0; l < 16; ++l) {
+                    if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
+                        double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
+                        double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
+                        double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
+                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+                        d0 = d0 / d3;
+                        d1 = d1 / d3;
+                        d2 = d2 / d3;
+                        float f = size * (0.7F + this.world.rand.nextFloat() * 0.6F);
+                        double d4 = x;
+                        double d6 = y;
+                        double d8 = z;
+
+                        for (; f > 0.0F; f -= 0.22500001F) {
+                            final int blockX = MathHelper.floor(d4);
+                            final int blockY = MathHelper.floor(d6);
+                            final int blockZ = MathHelper.floor(d8);
+                            final long key = pack(blockX, blockY, blockZ);
+                            final IBlockState state = getBlockState(blockX, blockY, blockZ);
+
+                            if (state.getMaterial() != Material.AIR) {
+                                f -= (getResistance(key, blockX, blockY, blockZ, state) + 0.3F) * 0.3F;
+                            }
+
+                            if (f > 0.0F && !this.affected.contains(key) && (this.exploder == null || this.exploder
+                                    .canExplosionDestroyBlock(this.explosion, this.world, this.pos.setPos(blockX, blockY, blockZ), state, f))) {
+                                this.affected.add(key);
+                            }
+
+                            d4 += d0 * 0.30000001192092896D;
+                            d6 += d1 * 0.30000001192092896D;
+                            d8 += d2 * 0.30000001192092896D;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private IBlockState getBlockState(int x, int y, int z) {
+        if (y < 0 || y >= 256) {
+            return AIR;
+        }
+        final Chunk chunk = getChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            // Not loaded, leave it up to the world whether to load it
+            return this.world.getBlockState(this.pos.setPos(x, y, z));
+        }
+        return chunk.getBlockState(x, y, z);
+    }
+
+    @Nullable
+    private Chunk getChunk(int chunkX, int chunkZ) {
+        final int offsetX = chunkX - this.minChunkX;
+        final int offsetZ = chunkZ - this.minChunkZ;
+        if (offsetX < 0 || offsetZ < 0 || offsetX >= this.chunkWidth || offsetZ >= this.chunkWidth) {
+            return lookupChunk(chunkX, chunkZ);
+        }
+        final int index = offsetX * this.chunkWidth + offsetZ;
+        Chunk chunk = this.chunks[index];
+        if (chunk == null) {
+            chunk = lookupChunk(chunkX, chunkZ);
+            this.chunks[index] = chunk;
+        }
+        return chunk;
+    }
+
+    @Nullable
+    private Chunk lookupChunk(int chunkX, int chunkZ) {
+        if (this.world instanceof WorldServer) {
+            return ((IMixinChunkProviderServer) ((WorldServer) this.world).getChunkProvider()).getLoadedChunkWithoutMarkingActive(chunkX, chunkZ);
+        }
+        return this.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+    }
+
+    private float getResistance(long key, int x, int y, int z, IBlockState state) {
+        if (this.sharesResistances) {
+            if (sharedStates.get(key) == state) {
+                return sharedResistances.get(key);
+            }
+            final float resistance = computeResistance(x, y, z, state);
+            sharedStates.put(key, state);
+            sharedResistances.put(key, resistance);
+            return resistance;
+        }
+        float resistance = this.resistances.get(key);
+        if (Float.isNaN(resistance)) {
+            resistance = computeResistance(x, y, z, state);
+            this.resistances.put(key, resistance);
+        }
+        return resistance;
+    }
+
+    private float computeResistance(int x, int y, int z, IBlockState state) {
+        return this.exploder != null
+               ? this.exploder.getExplosionResistance(this.explosion, this.world, this.pos.setPos(x, y, z), state)
+               : state.getBlock().getExplosionResistance((Entity) null);
+    }
+
+    /**
+     * Packs the coordinates the same way as {@link BlockPos#toLong()}.
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) x & X_MASK) << X_SHIFT | ((long) y & Y_MASK) << Y_SHIFT | ((long) z & Z_MASK);
+    }
+
+}
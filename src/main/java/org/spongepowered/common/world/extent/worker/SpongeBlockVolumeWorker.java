@@ -40,7 +40,11 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
 
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
 
 /**
@@ -48,6 +52,13 @@
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
+    // Volumes with fewer blocks are always processed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    // Number of blocks a single fork join task processes before it splits
+    private static final int SLAB_TARGET_SIZE = 1 << 14;
+    // Number of blocks produced before they are written to the destination
+    private static final int WINDOW_SIZE = 1 << 21;
+
     protected final V volume;
 
     public SpongeBlockVolumeWorker(V volume) {
@@ -72,6 +83,14 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (destination != this.volume && shouldRunInParallel(this.volume, unmodifiableVolume)) {
+            try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+                .source(this)
+                .buildAndSwitch()) {
+                produceInParallel(unmodifiableVolume, (x, y, z) -> mapper.map(unmodifiableVolume, x, y, z), destination, xOffset, yOffset, zOffset);
+            }
+            return;
+        }
         // a single go, requiring only one event
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
@@ -106,6 +125,17 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
+        if (destination != this.volume && destination != second && isBufferBacked(second)
+            && shouldRunInParallel(this.volume, firstUnmodifiableVolume)) {
+            try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+                .source(this)
+                .buildAndSwitch()) {
+                produceInParallel(firstUnmodifiableVolume, (x, y, z) -> merger.merge(firstUnmodifiableVolume, x, y, z,
+                    secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond),
+                    destination, xOffsetDestination, yOffsetDestination, zOffsetDestination);
+            }
+            return;
+        }
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
@@ -152,6 +182,9 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (shouldRunInParallel(this.volume, unmodifiableVolume)) {
+            return new ReduceSlabTask<>(unmodifiableVolume, zMin, zMax, reducer, merge, identity).invoke();
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -163,6 +196,52 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Produces the blocks of the volume on the fork join pool and writes
+     * them to the destination on the calling thread. The volume is handled
+     * in windows of z slabs to bound the memory used for the results.
+     */
+    private static void produceInParallel(UnmodifiableBlockVolume volume, BlockProducer producer, MutableBlockVolume destination,
+        int xOffset, int yOffset, int zOffset) {
+        final int xMin = volume.getBlockMin().getX();
+        final int yMin = volume.getBlockMin().getY();
+        final int zMin = volume.getBlockMin().getZ();
+        final int xMax = volume.getBlockMax().getX();
+        final int yMax = volume.getBlockMax().getY();
+        final int zMax = volume.getBlockMax().getZ();
+        final int slabSize = (xMax - xMin + 1) * (yMax - yMin + 1);
+        final int zWindow = Math.max(1, WINDOW_SIZE / slabSize);
+        for (int zStart = zMin; zStart <= zMax; zStart += zWindow) {
+            final int zEnd = Math.min(zMax, zStart + zWindow - 1);
+            final BlockState[] blocks = new BlockSlabTask(volume, zStart, zEnd, producer).invoke();
+            int i = 0;
+            for (int z = zStart; z <= zEnd; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, blocks[i++]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Only volumes backed by a block buffer are safe to read from several
+     * threads at once, world backed volumes always stay on the calling
+     * thread.
+     */
+    private static boolean isBufferBacked(BlockVolume volume) {
+        return volume instanceof AbstractBlockBuffer;
+    }
+
+    private static boolean shouldRunInParallel(BlockVolume volume, UnmodifiableBlockVolume view) {
+        if (!isBufferBacked(volume)) {
+            return false;
+        }
+        final Vector3i size = view.getBlockSize();
+        return (long) size.getX() * size.getY() * size.getZ() >= PARALLEL_THRESHOLD;
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
@@ -171,4 +250,134 @@ private Vector3i align(BlockVolume other) {
         return other.getBlockMin().sub(this.volume.getBlockMin());
     }
 
+    @FunctionalInterface
+    private interface BlockProducer {
+
+        BlockState produce(int x, int y, int z);
+    }
+
+    /**
+     * Produces the blocks of a range of z slabs, splitting the range in
+     * half until it is small enough to be processed by a single thread. The
+     * result is in the same z/y/x order as the sequential loops.
+     */
+    private static final class BlockSlabTask extends RecursiveTask<BlockState[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UnmodifiableBlockVolume volume;
+        private final int zMin;
+        private final int zMax;
+        private final BlockProducer producer;
+
+        BlockSlabTask(UnmodifiableBlockVolume volume, int zMin, int zMax, BlockProducer producer) {
+            this.volume = volume;
+            this.zMin = zMin;
+            this.zMax = zMax;
+            this.producer = producer;
+        }
+
+        @Override
+        protected BlockState[] compute() {
+            final int xMin = this.volume.getBlockMin().getX();
+            final int yMin = this.volume.getBlockMin().getY();
+            final int xMax = this.volume.getBlockMax().getX();
+            final int yMax = this.volume.getBlockMax().getY();
+            final int slabSize = (xMax - xMin + 1) * (yMax - yMin + 1);
+            final BlockState[] blocks = new BlockState[slabSize * (this.zMax - this.zMin + 1)];
+            fill(blocks, 0, this.zMin, this.zMax, slabSize);
+            return blocks;
+        }
+
+        private void fill(BlockState[] blocks, int offset, int zMin, int zMax, int slabSize) {
+            if (zMin < zMax && (long) slabSize * (zMax - zMin + 1) > SLAB_TARGET_SIZE) {
+                final int zMid = (zMin + zMax) >>> 1;
+                final int secondOffset = offset + slabSize * (zMid - zMin + 1);
+                ForkJoinTask.invokeAll(
+                    new RecursiveAction() {
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        protected void compute() {
+                            fill(blocks, offset, zMin, zMid, slabSize);
+                        }
+                    },
+                    new RecursiveAction() {
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        protected void compute() {
+                            fill(blocks, secondOffset, zMid + 1, zMax, slabSize);
+                        }
+                    });
+                return;
+            }
+            final int xMin = this.volume.getBlockMin().getX();
+            final int yMin = this.volume.getBlockMin().getY();
+            final int xMax = this.volume.getBlockMax().getX();
+            final int yMax = this.volume.getBlockMax().getY();
+            int i = offset;
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        blocks[i++] = this.producer.produce(x, y, z);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reduces a range of z slabs, splitting the range in half until it is
+     * small enough and combining the halves in order with the merge
+     * function.
+     */
+    private static final class ReduceSlabTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UnmodifiableBlockVolume volume;
+        private final int zMin;
+        private final int zMax;
+        private final BlockVolumeReducer<T> reducer;
+        private final BiFunction<T, T, T> merge;
+        private final T identity;
+
+        ReduceSlabTask(UnmodifiableBlockVolume volume, int zMin, int zMax, BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge,
+            T identity) {
+            this.volume = volume;
+            this.zMin = zMin;
+            this.zMax = zMax;
+            this.reducer = reducer;
+            this.merge = merge;
+            this.identity = identity;
+        }
+
+        @Override
+        protected T compute() {
+            final int xMin = this.volume.getBlockMin().getX();
+            final int yMin = this.volume.getBlockMin().getY();
+            final int xMax = this.volume.getBlockMax().getX();
+            final int yMax = this.volume.getBlockMax().getY();
+            final long slabSize = (long) (xMax - xMin + 1) * (yMax - yMin + 1);
+            if (this.zMin < this.zMax && slabSize * (this.zMax - this.zMin + 1) > SLAB_TARGET_SIZE) {
+                final int zMid = (this.zMin + this.zMax) >>> 1;
+                final ReduceSlabTask<T> first = new ReduceSlabTask<>(this.volume, this.zMin, zMid, this.reducer, this.merge, this.identity);
+                final ReduceSlabTask<T> second = new ReduceSlabTask<>(this.volume, zMid + 1, this.zMax, this.reducer, this.merge, this.identity);
+                second.fork();
+                final T firstResult = first.compute();
+                return this.merge.apply(firstResult, second.join());
+            }
+            T reduction = this.identity;
+            for (int z = this.zMin; z <= this.zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        reduction = this.reducer.reduce(this.volume, x, y, z, reduction);
+                    }
+                }
+            }
+            return reduction;
+        }
+    }
+
 }
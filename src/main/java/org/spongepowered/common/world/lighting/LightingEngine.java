@@ -0,0 +1,305 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Collects the light checks queued by a world during a tick and hands them
+ * to the lighting executor as region sized batches.
+ *
+ * <p>Checks are grouped per chunk, and chunks are grouped into regions of
+ * {@code 4x4} chunks. A light check only ever touches its own chunk and the
+ * eight chunks around it, so two regions that are not adjacent never share
+ * a chunk and their batches may run in parallel. Batches of adjacent regions
+ * are serialized.</p>
+ *
+ * <p>Collection happens on the main thread only. The backlog and the set of
+ * regions in flight are shared with the lighting threads and guarded by this
+ * engine's monitor, which is only taken once per batch.</p>
+ */
+public final class LightingEngine {
+
+    private static final int REGION_SHIFT = 2;
+
+    private final IMixinWorldServer world;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxInFlightRegions;
+    private final int maxQueuedUpdates;
+
+    // Main thread only
+    private final Long2ObjectMap<RegionBatch> collecting = new Long2ObjectOpenHashMap<>();
+
+    // Guarded by this
+    private final ArrayDeque<RegionBatch> backlog = new ArrayDeque<>();
+    private final LongSet inFlight = new LongOpenHashSet();
+    private int queuedUpdates;
+
+    public LightingEngine(IMixinWorldServer world, ExecutorService executor, AsyncLightingCategory config) {
+        this.world = world;
+        this.executor = executor;
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.maxInFlightRegions = Math.max(1, config.getMaxInFlightRegions());
+        this.maxQueuedUpdates = Math.max(this.batchSize, config.getMaxQueuedUpdates());
+    }
+
+    /**
+     * Queues a light check to be run with the next batch of its region. Must
+     * be called from the main thread.
+     *
+     * @param lightType The type of light to check
+     * @param pos The position to check
+     * @param chunk The chunk containing the position
+     * @param neighbors The loaded chunks surrounding the chunk
+     */
+    public void enqueue(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors) {
+        final long regionKey = ChunkPos.asLong(chunk.x >> REGION_SHIFT, chunk.z >> REGION_SHIFT);
+        RegionBatch region = this.collecting.get(regionKey);
+        if (region == null) {
+            region = new RegionBatch(regionKey, chunk.x >> REGION_SHIFT, chunk.z >> REGION_SHIFT);
+            this.collecting.put(regionKey, region);
+        }
+        region.add(lightType, pos, chunk, neighbors);
+
+        if (region.size >= this.batchSize) {
+            this.collecting.remove(regionKey);
+            this.submit(region);
+        }
+    }
+
+    /**
+     * Hands every batch collected so far to the lighting executor. If the
+     * backlog is over its limit, the calling thread runs batches itself until
+     * the backlog is back under it. Must be called from the main thread.
+     */
+    public void flush() {
+        if (!this.collecting.isEmpty()) {
+            for (RegionBatch region : this.collecting.values()) {
+                this.submit(region);
+            }
+            this.collecting.clear();
+        }
+
+        while (true) {
+            final RegionBatch runnable;
+            synchronized (this) {
+                if (this.queuedUpdates <= this.maxQueuedUpdates || this.executor.isShutdown()) {
+                    return;
+                }
+                runnable = this.pollRunnable(true);
+                if (runnable == null) {
+                    try {
+                        this.wait(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    continue;
+                }
+                this.inFlight.add(runnable.key);
+            }
+            try {
+                this.run(runnable);
+            } finally {
+                synchronized (this) {
+                    this.complete(runnable);
+                }
+            }
+        }
+    }
+
+    private void submit(RegionBatch region) {
+        synchronized (this) {
+            this.backlog.add(region);
+            this.queuedUpdates += region.size;
+            this.dispatch();
+        }
+    }
+
+    // Guarded by this
+    private void dispatch() {
+        RegionBatch region;
+        while (this.inFlight.size() < this.maxInFlightRegions && (region = this.pollRunnable(false)) != null) {
+            this.inFlight.add(region.key);
+            final RegionBatch batch = region;
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        this.run(batch);
+                    } finally {
+                        synchronized (this) {
+                            this.complete(batch);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The executor is being shut down along with the server
+                this.inFlight.remove(batch.key);
+                this.queuedUpdates -= batch.size;
+                return;
+            }
+        }
+    }
+
+    // Guarded by this
+    private void complete(RegionBatch region) {
+        this.inFlight.remove(region.key);
+        this.queuedUpdates -= region.size;
+        this.dispatch();
+        this.notifyAll();
+    }
+
+    /**
+     * Removes the oldest batch of the backlog whose region is not adjacent to
+     * a region in flight, or to a region with an older batch still waiting.
+     */
+    // Guarded by this
+    private RegionBatch pollRunnable(boolean ignoreInFlightLimit) {
+        if (!ignoreInFlightLimit && this.inFlight.size() >= this.maxInFlightRegions) {
+            return null;
+        }
+        List<RegionBatch> waiting = null;
+        for (Iterator<RegionBatch> iterator = this.backlog.iterator(); iterator.hasNext(); ) {
+            final RegionBatch region = iterator.next();
+            if (!this.conflictsWithInFlight(region) && !conflictsWith(region, waiting)) {
+                iterator.remove();
+                return region;
+            }
+            if (waiting == null) {
+                waiting = new ArrayList<>();
+            }
+            waiting.add(region);
+        }
+        return null;
+    }
+
+    private boolean conflictsWithInFlight(RegionBatch region) {
+        if (this.inFlight.isEmpty()) {
+            return false;
+        }
+        for (int x = region.x - 1; x <= region.x + 1; x++) {
+            for (int z = region.z - 1; z <= region.z + 1; z++) {
+                if (this.inFlight.contains(ChunkPos.asLong(x, z))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean conflictsWith(RegionBatch region, List<RegionBatch> others) {
+        if (others == null) {
+            return false;
+        }
+        for (RegionBatch other : others) {
+            if (Math.abs(other.x - region.x) <= 1 && Math.abs(other.z - region.z) <= 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void run(RegionBatch region) {
+        for (ChunkBatch chunkBatch : region.chunks.values()) {
+            chunkBatch.run(this.world);
+        }
+    }
+
+    private static final class RegionBatch {
+
+        final long key;
+        final int x;
+        final int z;
+        final Long2ObjectMap<ChunkBatch> chunks = new Long2ObjectOpenHashMap<>();
+        int size;
+
+        RegionBatch(long key, int x, int z) {
+            this.key = key;
+            this.x = x;
+            this.z = z;
+        }
+
+        void add(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors) {
+            final long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+            ChunkBatch chunkBatch = this.chunks.get(chunkKey);
+            if (chunkBatch == null) {
+                chunkBatch = new ChunkBatch(chunk);
+                this.chunks.put(chunkKey, chunkBatch);
+            }
+            chunkBatch.add(lightType, pos, neighbors);
+            this.size++;
+        }
+    }
+
+    private static final class ChunkBatch {
+
+        final Chunk chunk;
+        final LongArrayList skyUpdates = new LongArrayList();
+        final LongArrayList blockUpdates = new LongArrayList();
+        final List<List<Chunk>> skyNeighbors = new ArrayList<>();
+        final List<List<Chunk>> blockNeighbors = new ArrayList<>();
+
+        ChunkBatch(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        void add(EnumSkyBlock lightType, BlockPos pos, List<Chunk> neighbors) {
+            if (lightType == EnumSkyBlock.SKY) {
+                this.skyUpdates.add(pos.toLong());
+                this.skyNeighbors.add(neighbors);
+            } else {
+                this.blockUpdates.add(pos.toLong());
+                this.blockNeighbors.add(neighbors);
+            }
+        }
+
+        void run(IMixinWorldServer world) {
+            for (int i = 0; i < this.skyUpdates.size(); i++) {
+                world.checkLightAsync(EnumSkyBlock.SKY, BlockPos.fromLong(this.skyUpdates.getLong(i)), this.chunk, this.skyNeighbors.get(i));
+            }
+            for (int i = 0; i < this.blockUpdates.size(); i++) {
+                world.checkLightAsync(EnumSkyBlock.BLOCK, BlockPos.fromLong(this.blockUpdates.getLong(i)), this.chunk, this.blockNeighbors.get(i));
+            }
+        }
+    }
+}
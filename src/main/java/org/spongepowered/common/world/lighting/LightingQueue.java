@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free set of block positions within a single chunk that are
+ * currently queued for a lighting update.
+ *
+ * <p>Positions are the packed chunk-relative shorts used by the async
+ * lighting mixins ({@code x | y << 4 | z << 12}). Each 16x16x16 chunk
+ * section is backed by a lazily allocated 4096 bit set so that add, remove
+ * and contains are a single CAS on a {@code long} word, without boxing or
+ * copying.</p>
+ */
+public final class LightingQueue {
+
+    private static final int SECTION_COUNT = 16;
+    private static final int WORDS_PER_SECTION = 64;
+
+    private final AtomicReferenceArray<AtomicLongArray> sections = new AtomicReferenceArray<>(SECTION_COUNT);
+
+    /**
+     * Adds the position to this queue.
+     *
+     * @param pos The packed position
+     * @return True if the position was not already queued
+     */
+    public boolean add(short pos) {
+        final AtomicLongArray section = this.getOrCreateSection(sectionIndex(pos));
+        final int word = wordIndex(pos);
+        final long mask = bitMask(pos);
+        long current;
+        do {
+            current = section.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!section.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /**
+     * Removes the position from this queue.
+     *
+     * @param pos The packed position
+     * @return True if the position was queued
+     */
+    public boolean remove(short pos) {
+        final AtomicLongArray section = this.sections.get(sectionIndex(pos));
+        if (section == null) {
+            return false;
+        }
+        final int word = wordIndex(pos);
+        final long mask = bitMask(pos);
+        long current;
+        do {
+            current = section.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!section.compareAndSet(word, current, current & ~mask));
+        return true;
+    }
+
+    public boolean contains(short pos) {
+        final AtomicLongArray section = this.sections.get(sectionIndex(pos));
+        return section != null && (section.get(wordIndex(pos)) & bitMask(pos)) != 0;
+    }
+
+    private AtomicLongArray getOrCreateSection(int index) {
+        AtomicLongArray section = this.sections.get(index);
+        if (section == null) {
+            final AtomicLongArray created = new AtomicLongArray(WORDS_PER_SECTION);
+            if (this.sections.compareAndSet(index, null, created)) {
+                return created;
+            }
+            section = this.sections.get(index);
+        }
+        return section;
+    }
+
+    // Packed layout: x [0, 4), y [4, 12), z [12, 16)
+    private static int sectionIndex(short pos) {
+        return (pos >> 8) & 0xF;
+    }
+
+    private static int bitIndex(short pos) {
+        // x | (y & 15) << 4 | z << 8
+        return (pos & 0xFF) | ((pos >> 4) & 0xF00);
+    }
+
+    private static int wordIndex(short pos) {
+        return bitIndex(pos) >> 6;
+    }
+
+    private static long bitMask(short pos) {
+        return 1L << (bitIndex(pos) & 63);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class LightingQueueTest {
+
+    private static short pack(int x, int y, int z) {
+        return (short) (x & 0xF | (y & 0xFF) << 4 | (z & 0xF) << 12);
+    }
+
+    @Test
+    public void testAddDeduplicates() {
+        LightingQueue queue = new LightingQueue();
+        assertTrue(queue.add(pack(1, 64, 15)));
+        assertFalse(queue.add(pack(1, 64, 15)));
+        assertTrue(queue.contains(pack(1, 64, 15)));
+        assertFalse(queue.contains(pack(1, 65, 15)));
+    }
+
+    @Test
+    public void testRemove() {
+        LightingQueue queue = new LightingQueue();
+        queue.add(pack(15, 255, 15));
+        assertFalse(queue.remove(pack(0, 0, 0)));
+        assertTrue(queue.remove(pack(15, 255, 15)));
+        assertFalse(queue.remove(pack(15, 255, 15)));
+        assertFalse(queue.contains(pack(15, 255, 15)));
+    }
+
+    @Test
+    public void testPositionsAcrossSectionsAreIndependent() {
+        LightingQueue queue = new LightingQueue();
+        Set<Short> queued = new HashSet<>();
+        for (int y = 0; y < 256; y += 7) {
+            for (int x = 0; x < 16; x += 3) {
+                short pos = pack(x, y, 15 - x);
+                assertTrue(queue.add(pos));
+                queued.add(pos);
+            }
+        }
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 16; x++) {
+                short pos = pack(x, y, 15 - x);
+                assertEquals(queued.contains(pos), queue.contains(pos));
+            }
+        }
+        for (short pos : queued) {
+            assertTrue(queue.remove(pos));
+        }
+        for (short pos : queued) {
+            assertFalse(queue.contains(pos));
+        }
+    }
+}